@@ -0,0 +1,91 @@
+package site.aiion.api.gateway.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT 서명/검증 비용 비교 (HS256 / ES256 / EdDSA)
+ *
+ * JwtTokenProvider가 발급하는 access token과 같은 클레임으로 측정합니다.
+ * verify는 JwtTokenVerifier의 클레임 캐시를 거치지 않은 서명 검증 비용입니다. (캐시 미스 경로)
+ * 실행: ./gradlew :gateway:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSignatureBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        switch (algorithm) {
+            case "HS256" -> {
+                SecretKey key = Keys.hmacShaKeyFor("benchmark-secret-key-benchmark-secret-key".getBytes(StandardCharsets.UTF_8));
+                signingKey = key;
+                parser = Jwts.parser().verifyWith(key).build();
+            }
+            case "ES256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                signingKey = keyPair.getPrivate();
+                parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+            }
+            case "EdDSA" -> {
+                KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                signingKey = keyPair.getPrivate();
+                parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+            }
+            default -> throw new IllegalArgumentException(algorithm);
+        }
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .header().keyId("benchmark").and()
+                .subject("12345")
+                .claim("provider", "kakao")
+                .claim("type", "access")
+                .claim("nickname", "사용자")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000L))
+                .signWith(signingKey);
+        return builder.compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,88 @@
+package site.aiion.api.services.oauth.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 토큰 저장소 Redis 값 직렬화 비교 (기존 GenericJackson2Json vs TokenValueRedisSerializer COMPACT)
+ *
+ * 처리량(ops/ms)과 함께 값 하나의 직렬화 크기(valueBytes)를 보조 지표로 출력합니다.
+ * Redis 키당 고정 오버헤드(키, TTL, 객체 헤더)는 두 방식이 같으므로 키당 메모리 차이는 valueBytes 차이와 같습니다.
+ * 실행: ./gradlew :gateway:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenValueSerializerBenchmark {
+
+    // JwtTokenProvider가 발급하는 access token과 비슷한 길이의 값
+    private static final String ACCESS_TOKEN = "eyJhbGciOiJIUzI1NiJ9."
+            + "eyJzdWIiOiIxMjM0NSIsInByb3ZpZGVyIjoia2FrYW8iLCJ0eXBlIjoiYWNjZXNzIiwibmlja25hbWUiOiLsgqzsmqnsnpAiLCJlbWFpbCI6InVzZXJAZXhhbXBsZS5jb20iLCJpYXQiOjE3MDAwMDAwMDAsImV4cCI6MTcwMDAwMzYwMH0."
+            + "c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmUtc2lnbmF0";
+
+    @Param({"JSON", "COMPACT"})
+    public String serializer;
+
+    @Param({"token", "state", "map"})
+    public String value;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object input;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        redisSerializer = "JSON".equals(serializer)
+                ? new GenericJackson2JsonRedisSerializer()
+                : new TokenValueRedisSerializer(TokenValueRedisSerializer.Mode.COMPACT);
+        input = switch (value) {
+            case "token" -> ACCESS_TOKEN;
+            case "state" -> "a1b2c3d4e5f6";
+            default -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("userId", 12345L);
+                map.put("provider", "kakao");
+                map.put("nickname", "사용자");
+                yield map;
+            }
+        };
+        serialized = redisSerializer.serialize(input);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long valueBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            valueBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(Size size) {
+        byte[] bytes = redisSerializer.serialize(input);
+        size.valueBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(serialized);
+    }
+}
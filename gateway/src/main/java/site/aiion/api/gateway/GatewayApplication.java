@@ -16,6 +16,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 	"site.aiion.api.services.diary",
 	"site.aiion.api.services.diary.emotion",
 	"site.aiion.api.services.diary.mbti",
+	"site.aiion.api.services.diary.inference",  // 추론 결과 캐시 Entity
+	"site.aiion.api.services.diary.analysis",   // 분석 작업 큐 Entity
 	"site.aiion.api.services.user",
 	"site.aiion.api.services.about",  // 자기소개 Entity
 	"site.aiion.api.services.groupchat"  // 그룹 채팅 Entity
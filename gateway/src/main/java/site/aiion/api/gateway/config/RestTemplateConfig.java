@@ -1,28 +1,42 @@
 package site.aiion.api.gateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
 public class RestTemplateConfig {
-    
+
+    /**
+     * 다운스트림 공용 HTTP 클라이언트 (JDK HttpClient)
+     * 연결을 재사용(keep-alive 풀)하므로 호출마다 새 연결을 열지 않음
+     * gateway.http-client.version=HTTP_2 로 설정하면 HTTP/2 사용 (https는 ALPN, http는 h2c 업그레이드 시도)
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        // Spring Boot 3.4.0 이후 setConnectTimeout/setReadTimeout이 deprecated되었으므로
-        // ClientHttpRequestFactory를 직접 설정
-        // 타임아웃 설정: 연결 10초, 읽기 120초 (CPU 환경에서 DL 모델 추론 시간 고려)
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) Duration.ofSeconds(10).toMillis()); // 10초
-        factory.setReadTimeout((int) Duration.ofSeconds(120).toMillis()); // 120초 (CPU로 4개 MBTI 차원 분석 시간 고려)
-        
+    public HttpClient httpClient(
+            @Value("${gateway.http-client.version:HTTP_1_1}") HttpClient.Version version,
+            @Value("${gateway.http-client.connect-timeout-seconds:10}") long connectTimeoutSeconds) {
+        return HttpClient.newBuilder()
+            .version(version)
+            .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient httpClient) {
+        // 타임아웃 설정: 연결 10초(httpClient), 읽기 120초 (CPU 환경에서 DL 모델 추론 시간 고려)
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofSeconds(120)); // 120초 (CPU로 4개 MBTI 차원 분석 시간 고려)
+
         return builder
             .requestFactory(() -> factory)
             .build();
     }
 }
-
@@ -1,5 +1,6 @@
 package site.aiion.api.gateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,11 +8,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import site.aiion.api.gateway.security.JwtAuthenticationFilter;
+import site.aiion.api.gateway.security.JwtTokenVerifier;
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,15 +28,21 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // JWT 검증을 건너뛰는 공개 경로 (OAuth 로그인/토큰 재발급, AI 프록시, 문서, 헬스체크, JWKS)
+    // /actuator/metrics 는 관리자 토큰이 필요하므로 공개 경로에 넣지 않음
+    @Value("${gateway.security.public-paths:/api/oauth/**,/api/auth/**,/api/kakao/**,/api/naver/**,/api/google/**,/oauth2/**,/api/rag/**,/api/yolo/**,/api/diffusers/**,/docs/**,/v3/api-docs/**,/swagger-ui/**,/actuator/health/**,/actuator/info,/.well-known/**}")
+    private List<String> publicPaths;
+
     /**
      * SecurityFilterChain 설정
      * - CSRF 보호 활성화 (API는 JWT 기반이므로 세션 기반 CSRF는 선택적)
      * - 세션 정책: STATELESS (JWT 기반 인증)
      * - 보안 헤더 추가
      * - OAuth 엔드포인트는 허용 (기존 컨트롤러 사용)
+     * - JWT 인증 필터: 요청당 한 번 토큰을 검증해 SecurityContext에 사용자 등록 (컨트롤러는 @CurrentUser로 사용)
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtTokenVerifier jwtTokenVerifier) throws Exception {
         http
             // CSRF 설정
             // API는 JWT 기반이므로 세션 기반 CSRF는 비활성화
@@ -49,12 +60,15 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
+            // JWT 인증 필터 (서블릿 필터로 중복 등록되지 않도록 빈이 아닌 체인에만 추가)
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenVerifier, publicPaths),
+                UsernamePasswordAuthenticationFilter.class)
+            
             // 요청 인가 설정
-            // 주의: JWT 토큰 검증은 컨트롤러 레벨에서 처리하므로
-            // Spring Security는 모든 API 엔드포인트를 permitAll()로 설정
-            // 실제 인증은 각 컨트롤러에서 JwtTokenUtil/JwtTokenProvider로 검증
+            // 주의: 인증 필요 여부는 컨트롤러 파라미터(@CurrentUser)에서 판단하고
+            // 기존 응답 형식(code 401 Messenger)을 유지하기 위해 Spring Security는 모든 API 엔드포인트를 permitAll()로 설정
             .authorizeHttpRequests(auth -> auth
-                // 모든 API 엔드포인트 허용 (JWT 검증은 컨트롤러 레벨에서 처리)
+                // 모든 API 엔드포인트 허용 (인증 필요 여부는 @CurrentUser에서 처리)
                 .requestMatchers("/api/**").permitAll()
                 
                 // Swagger UI 및 문서
@@ -66,9 +80,13 @@ public class SecurityConfig {
                 // Actuator 엔드포인트
                 .requestMatchers(
                     "/actuator/health",           // Health check
+                    "/actuator/health/**",
                     "/actuator/info"              // Info endpoint
                 ).permitAll()
                 
+                // 그 외 Actuator (metrics 등 내부 지표)는 관리자만
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                
                 // 기타 요청은 허용
                 .anyRequest().permitAll()
             )
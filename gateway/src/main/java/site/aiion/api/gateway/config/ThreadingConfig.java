@@ -0,0 +1,106 @@
+package site.aiion.api.gateway.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 가상 스레드 실행 모드 설정
+ *
+ * spring.threads.virtual.enabled=true 하나로 전환됩니다.
+ * - Tomcat 요청 처리: Spring Boot가 자동으로 가상 스레드 executor 사용
+ * - 분석 작업 워커(DiaryAnalysisJobWorker), 추론 배치 전송(BatchingInferenceClient): threadFactory()로 스레드 생성
+ * - SSE 스케줄러/writer/연결 종료: 아래 sseScheduler, sseWriterExecutor, sseCloseExecutor가 가상 스레드 팩토리 사용
+ * - MVC 비동기 요청(StreamingResponseBody 프록시 응답, 일기 내보내기): mvcAsyncExecutor (WebConfig에서 등록)
+ * 스레드 수가 상한 역할을 하지 않으므로 다운스트림별 동시 요청 수는 DownstreamLimiter로 제한합니다.
+ */
+@Configuration
+public class ThreadingConfig {
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
+	@Value("${groupchat.sse.scheduler-threads:2}")
+	private int sseSchedulerThreads;
+
+	@Value("${groupchat.sse.writer-threads:8}")
+	private int sseWriterThreads;
+
+	@Value("${gateway.async.max-threads:64}")
+	private int asyncMaxThreads;
+
+	@Value("${gateway.async.queue-capacity:64}")
+	private int asyncQueueCapacity;
+
+	/**
+	 * MVC 비동기 요청 executor (StreamingResponseBody 본문 전송)
+	 * ExecutorService 빈이 있으면 Spring Boot가 applicationTaskExecutor를 만들지 않아
+	 * 기본값인 SimpleAsyncTaskExecutor(요청마다 플랫폼 스레드, 상한 없음)가 쓰이므로 직접 등록합니다.
+	 * 가상 스레드 모드에서는 요청마다 가상 스레드, 아니면 max-threads개 고정 풀 + queue-capacity 대기열
+	 * (대기열까지 차면 TaskRejectedException으로 즉시 실패)
+	 */
+	@Bean(name = "mvcAsyncExecutor")
+	public AsyncTaskExecutor mvcAsyncExecutor() {
+		if (virtualThreadsEnabled) {
+			return new SimpleAsyncTaskExecutor(threadFactory("MvcAsync-"));
+		}
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(asyncMaxThreads);
+		executor.setMaxPoolSize(asyncMaxThreads);
+		executor.setQueueCapacity(asyncQueueCapacity);
+		executor.setThreadFactory(threadFactory("MvcAsync-"));
+		return executor;
+	}
+
+	/**
+	 * 단체 채팅 SSE keep-alive 스케줄러 (GroupChatBroadcaster의 공유 타이머)
+	 */
+	@Bean(name = "sseScheduler", destroyMethod = "shutdownNow")
+	public ScheduledExecutorService sseScheduler() {
+		return Executors.newScheduledThreadPool(sseSchedulerThreads, threadFactory("GroupChatSSE-"));
+	}
+
+	/**
+	 * 단체 채팅 SSE 클라이언트별 전송 큐를 비우는 writer
+	 * 가상 스레드 모드에서는 작업마다 가상 스레드 (느린 클라이언트가 다른 클라이언트의 writer를 점유하지 않음)
+	 */
+	@Bean(name = "sseWriterExecutor", destroyMethod = "shutdownNow")
+	public ExecutorService sseWriterExecutor() {
+		if (virtualThreadsEnabled) {
+			return Executors.newThreadPerTaskExecutor(threadFactory("GroupChatSSEWriter-"));
+		}
+		return Executors.newFixedThreadPool(sseWriterThreads, threadFactory("GroupChatSSEWriter-"));
+	}
+
+	/**
+	 * 느린 클라이언트 연결 종료 (close가 막힌 전송을 기다릴 수 있으므로 writer 풀과 분리, 종료마다 스레드 하나)
+	 */
+	@Bean(name = "sseCloseExecutor", destroyMethod = "shutdownNow")
+	public ExecutorService sseCloseExecutor() {
+		return Executors.newThreadPerTaskExecutor(threadFactory("GroupChatSSEClose-"));
+	}
+
+	/**
+	 * 모드에 따라 가상 스레드 또는 데몬 플랫폼 스레드를 생성하는 팩토리
+	 */
+	public ThreadFactory threadFactory(String namePrefix) {
+		if (virtualThreadsEnabled) {
+			return Thread.ofVirtual().name(namePrefix, 1).factory();
+		}
+		AtomicInteger count = new AtomicInteger();
+		return r -> {
+			Thread t = new Thread(r, namePrefix + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
+	}
+}
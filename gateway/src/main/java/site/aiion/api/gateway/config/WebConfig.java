@@ -1,15 +1,40 @@
 package site.aiion.api.gateway.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import site.aiion.api.gateway.security.CurrentUserArgumentResolver;
+
 /**
  * Web MVC 설정
  * - CORS는 Nginx에서 처리 (중복 헤더 방지)
+ * - @CurrentUser 파라미터 주입 (JwtAuthenticationFilter가 인증한 사용자)
+ * - 비동기 요청 executor (ThreadingConfig.mvcAsyncExecutor, 타임아웃은 spring.mvc.async.request-timeout)
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     // CORS 설정은 Nginx에서 처리하므로 여기서는 설정하지 않음
     // Nginx가 Access-Control-Allow-Origin 헤더를 추가함
-}
 
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+
+    public WebConfig(@Qualifier("mvcAsyncExecutor") AsyncTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
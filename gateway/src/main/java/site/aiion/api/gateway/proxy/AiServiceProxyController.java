@@ -6,25 +6,30 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.gateway.resilience.CircuitOpenException;
+import site.aiion.api.gateway.resilience.DownstreamBusyException;
+import java.io.IOException;
 import java.net.URI;
-import java.util.Enumeration;
-import java.util.Map;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
 
+@Slf4j
 @RestController
 @RequestMapping("/api")
 public class AiServiceProxyController {
 
-	private final RestTemplate restTemplate;
+	// 요청/응답 본문을 메모리에 모으지 않고 스트리밍으로 전달
+	// 다운스트림별 동시 요청 수 제한, 서킷 브레이커 (gateway.downstream.rag / gateway.downstream.vision)는 엔진에서 처리
+	private final StreamingProxyEngine streamingProxyEngine;
+	// 반복되는 GET 요청 응답 캐시 + 동일 요청 묶기 (gateway.proxy.cache.enabled=true 일 때만)
+	private final ProxyResponseCache proxyResponseCache;
 
 	// 환경 변수로 관리
 	// Docker Compose: http://rag-service:8001, http://vision-service:8002
@@ -36,75 +41,65 @@ public class AiServiceProxyController {
 	@Value("${ai.service.vision.url:}")
 	private String visionServiceUrl;
 
-	public AiServiceProxyController(RestTemplate restTemplate)
+	public AiServiceProxyController(StreamingProxyEngine streamingProxyEngine, ProxyResponseCache proxyResponseCache)
 	{
-		this.restTemplate = restTemplate;
+		this.streamingProxyEngine = streamingProxyEngine;
+		this.proxyResponseCache = proxyResponseCache;
 	}
 
 	// YOLO 서비스 프록시 (vision-service 통합)
 	@RequestMapping({"/yolo/**"})
-	public ResponseEntity<String> proxyYoloService(
-			@RequestBody(required = false) String body,
+	public ResponseEntity<StreamingResponseBody> proxyYoloService(
 			HttpMethod method,
-			HttpServletRequest request,
-			@RequestHeader HttpHeaders headers)
+			HttpServletRequest request)
 	{
 		// Vision 서비스가 배포되지 않은 경우 처리
 		if (visionServiceUrl == null || visionServiceUrl.isEmpty()) {
-			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-					.body("{\"error\": \"Vision service is not available yet\"}");
+			return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Vision service is not available yet");
 		}
-		return proxyRequest(visionServiceUrl + "/yolo", body, method, request, headers);
+		return proxyRequest("vision", visionServiceUrl + "/yolo", method, request);
 	}
 
 	// RAG OpenAI 서비스 프록시
 	@RequestMapping({"/rag/openai/**"})
-	public ResponseEntity<String> proxyRagOpenAIService(
-			@RequestBody(required = false) String body,
+	public ResponseEntity<StreamingResponseBody> proxyRagOpenAIService(
 			HttpMethod method,
-			HttpServletRequest request,
-			@RequestHeader HttpHeaders headers)
+			HttpServletRequest request)
 	{
 		// ragServiceUrl은 base URL만 포함 (예: http://chat.hohyun.site:8001)
 		// /api/rag/openai/** → /rag/openai/**로 변환되어 ragServiceUrl과 결합
-		return proxyRequest(ragServiceUrl, body, method, request, headers);
+		return proxyRequest("rag", ragServiceUrl, method, request);
 	}
 
 	// RAG Llama 서비스 프록시
 	@RequestMapping({"/rag/llama/**"})
-	public ResponseEntity<String> proxyRagLlamaService(
-			@RequestBody(required = false) String body,
+	public ResponseEntity<StreamingResponseBody> proxyRagLlamaService(
 			HttpMethod method,
-			HttpServletRequest request,
-			@RequestHeader HttpHeaders headers)
+			HttpServletRequest request)
 	{
 		// ragServiceUrl은 base URL만 포함 (예: http://chat.hohyun.site:8001)
 		// /api/rag/llama/** → /rag/llama/**로 변환되어 ragServiceUrl과 결합
-		return proxyRequest(ragServiceUrl, body, method, request, headers);
+		return proxyRequest("rag", ragServiceUrl, method, request);
 	}
 
 	// Diffusers 서비스 프록시 (vision-service 통합)
 	@RequestMapping({"/diffusers/**"})
-	public ResponseEntity<String> proxyDiffusersService(
-			@RequestBody(required = false) String body,
+	public ResponseEntity<StreamingResponseBody> proxyDiffusersService(
 			HttpMethod method,
-			HttpServletRequest request,
-			@RequestHeader HttpHeaders headers)
+			HttpServletRequest request)
 	{
 		// Vision 서비스가 배포되지 않은 경우 처리
 		if (visionServiceUrl == null || visionServiceUrl.isEmpty()) {
-			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-					.body("{\"error\": \"Vision service is not available yet\"}");
+			return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Vision service is not available yet");
 		}
-		return proxyRequest(visionServiceUrl + "/diffusers", body, method, request, headers);
+		return proxyRequest("vision", visionServiceUrl + "/diffusers", method, request);
 	}
 
-	private ResponseEntity<String> proxyRequest(
+	private ResponseEntity<StreamingResponseBody> proxyRequest(
+			String downstream,
 			String baseUrl,
-			String body,
 			HttpMethod method,
-			HttpServletRequest request,
-			HttpHeaders headers)
+			HttpServletRequest request)
 	{
 
 		String requestUri = request.getRequestURI();
@@ -119,44 +114,67 @@ public class AiServiceProxyController {
 				.build(true)
 				.toUri();
 
-		HttpHeaders proxyHeaders = new HttpHeaders();
-		// Copy all original headers except Host and Content-Length
-		Enumeration<String> headerNames = request.getHeaderNames();
-		while (headerNames.hasMoreElements())
+		try
 		{
-			String headerName = headerNames.nextElement();
-			if (!headerName.equalsIgnoreCase(HttpHeaders.HOST) && !headerName.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH))
+			if (proxyResponseCache.applies(method, request))
 			{
-				proxyHeaders.add(headerName, request.getHeader(headerName));
+				return proxyResponseCache.forward(downstream, uri, method, request);
 			}
+			return streamingProxyEngine.forward(downstream, uri, method, request);
 		}
-
-		// Ensure Content-Type is set if a body exists
-		if (body != null && !body.isEmpty() && proxyHeaders.getContentType() == null)
+		catch (CircuitOpenException e)
 		{
-			proxyHeaders.setContentType(MediaType.APPLICATION_JSON); // Default to JSON if not specified
+			// 최근 호출이 계속 실패/지연된 다운스트림 - 타임아웃까지 기다리지 않고 즉시 503 반환
+			long retryAfterSeconds = Math.max(1, (e.getRetryAfterMillis() + 999) / 1000);
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(jsonBody("{\"error\": \"" + downstream + " service is temporarily unavailable\"}"));
 		}
-
-		org.springframework.http.HttpEntity<String> httpEntity = new org.springframework.http.HttpEntity<>(body, proxyHeaders);
-
-		try
+		catch (DownstreamBusyException e)
+		{
+			// 다운스트림 동시 요청 한도 초과 - 스레드를 붙잡지 않고 즉시 503 반환
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(jsonBody("{\"error\": \"" + downstream + " service is busy\"}"));
+		}
+		catch (PayloadTooLargeException e)
 		{
-			ResponseEntity<String> responseEntity = restTemplate.exchange(uri, method, httpEntity, String.class);
-			return ResponseEntity.status(responseEntity.getStatusCode())
-					.headers(responseEntity.getHeaders())
-					.body(responseEntity.getBody());
+			return errorResponse(HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + e.getMaxBytes() + " bytes");
 		}
-		catch (HttpClientErrorException | HttpServerErrorException e)
+		catch (HttpTimeoutException e)
 		{
-			return ResponseEntity.status(e.getStatusCode())
-					.headers(e.getResponseHeaders())
-					.body(e.getResponseBodyAsString());
+			log.warn("[Proxy] {} 응답 시간 초과: {}", downstream, uri);
+			return errorResponse(HttpStatus.GATEWAY_TIMEOUT, downstream + " service timed out");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Proxy interrupted");
+		}
+		catch (IOException e)
+		{
+			log.warn("[Proxy] {} 연결 실패: {} ({})", downstream, uri, e.getMessage());
+			return errorResponse(HttpStatus.BAD_GATEWAY, "Proxy error: " + e.getMessage());
 		}
 		catch (Exception e)
 		{
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body("Proxy error: " + e.getMessage());
+			return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Proxy error: " + e.getMessage());
 		}
 	}
-}
 
+	private ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message)
+	{
+		String escaped = message != null ? message.replace("\\", "\\\\").replace("\"", "\\\"") : "";
+		return ResponseEntity.status(status)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(jsonBody("{\"error\": \"" + escaped + "\"}"));
+	}
+
+	private StreamingResponseBody jsonBody(String json)
+	{
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		return out -> out.write(bytes);
+	}
+}
@@ -0,0 +1,20 @@
+package site.aiion.api.gateway.proxy;
+
+import java.io.IOException;
+
+/**
+ * 프록시 요청 본문이 gateway.proxy.max-request-size 를 초과함 (413)
+ */
+public class PayloadTooLargeException extends IOException {
+
+    private final long maxBytes;
+
+    public PayloadTooLargeException(long maxBytes) {
+        super("요청 본문이 최대 크기(" + maxBytes + " bytes)를 초과했습니다.");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
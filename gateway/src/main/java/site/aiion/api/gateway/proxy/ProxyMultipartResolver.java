@@ -0,0 +1,32 @@
+package site.aiion.api.gateway.proxy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 프록시 경로의 multipart 요청은 파싱하지 않음
+ *
+ * 기본 MultipartResolver는 업로드 파일을 디스크/메모리에 모두 받은 뒤 파트로 나누므로,
+ * 프록시 경로(/api/yolo/** 등)는 multipart 로 인식하지 않고 원본 바이트 스트림 그대로 업스트림에 전달합니다.
+ * 빈 이름이 multipartResolver 이므로 Spring Boot 기본 MultipartResolver 대신 사용됩니다.
+ */
+@Component("multipartResolver")
+public class ProxyMultipartResolver extends StandardServletMultipartResolver {
+
+    @Value("${gateway.proxy.paths:/api/yolo/,/api/diffusers/,/api/rag/}")
+    private String[] proxyPaths;
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (String path : proxyPaths) {
+            if (uri.startsWith(path)) {
+                return false;
+            }
+        }
+        return super.isMultipart(request);
+    }
+}
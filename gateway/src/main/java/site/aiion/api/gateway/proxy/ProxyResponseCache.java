@@ -0,0 +1,567 @@
+package site.aiion.api.gateway.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AI 서비스 프록시 응답 캐시 (gateway.proxy.cache.enabled=true 일 때만 사용)
+ *
+ * 키: 메서드 + 업스트림 URI(경로, 쿼리) + 요청 본문 SHA-256 + 응답을 바꿀 수 있는 요청 헤더(Authorization, Accept 등)
+ * 1차: 메모리 LRU (max-memory-size 바이트 기준), 2차: Redis (redis.enabled=true, 여러 인스턴스가 공유)
+ *
+ * 업스트림 Cache-Control을 따릅니다. (s-maxage/max-age 만큼 보관, no-store/private/no-cache/Set-Cookie 는 저장하지 않음)
+ * Cache-Control이 없는 응답은 default-ttl-seconds 만큼 보관합니다. (0이면 저장하지 않음)
+ * 클라이언트가 Cache-Control: no-cache 를 보내면 캐시를 건너뛰고 새로 받아 저장하며, no-store 면 캐시를 전혀 사용하지 않습니다.
+ *
+ * 같은 키의 요청이 동시에 들어오면 첫 요청만 업스트림으로 보내고 나머지는 그 응답을 기다려 함께 사용합니다. (single-flight)
+ * 첫 요청의 응답 본문 전송이 leader-start-timeout-ms 안에 시작되지 않으면(클라이언트 연결 종료 등으로 버려진 응답)
+ * 기다리던 요청은 coalesce-timeout-seconds 까지 기다리지 않고 직접 업스트림으로 전달합니다.
+ * 조회 결과는 actuator metrics의 gateway.proxy.cache (result=hit|miss|coalesced, tier=memory|redis|none) 로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class ProxyResponseCache {
+
+    // 키에 포함하는 요청 헤더 (업스트림 Vary 가 이 밖의 헤더를 가리키면 저장하지 않음)
+    private static final List<String> VARY_HEADERS = List.of("authorization", "accept", "accept-encoding", "accept-language", "origin");
+
+    private final StreamingProxyEngine streamingProxyEngine;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final List<String> paths;
+    private final Set<String> methods;
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+    private final long maxEntryBytes;
+    private final long maxMemoryBytes;
+    private final long maxBodyBytes;
+    private final long coalesceTimeoutSeconds;
+    private final long leaderStartTimeoutMillis;
+    private final boolean redisEnabled;
+    private final String redisKeyPrefix;
+
+    // 메모리 LRU (접근 순서), totalBytes 로 크기 제한
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    // 진행 중인 업스트림 요청 (single-flight)
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    public ProxyResponseCache(
+            StreamingProxyEngine streamingProxyEngine,
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.proxy.cache.enabled:false}") boolean enabled,
+            @Value("${gateway.proxy.cache.paths:/api/rag/,/api/yolo/}") List<String> paths,
+            @Value("${gateway.proxy.cache.methods:GET,HEAD}") List<String> methods,
+            @Value("${gateway.proxy.cache.default-ttl-seconds:0}") long defaultTtlSeconds,
+            @Value("${gateway.proxy.cache.max-ttl-seconds:3600}") long maxTtlSeconds,
+            @Value("${gateway.proxy.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${gateway.proxy.cache.max-memory-size:64MB}") DataSize maxMemorySize,
+            @Value("${gateway.proxy.cache.max-body-size:64KB}") DataSize maxBodySize,
+            @Value("${gateway.proxy.cache.coalesce-timeout-seconds:120}") long coalesceTimeoutSeconds,
+            @Value("${gateway.proxy.cache.leader-start-timeout-ms:5000}") long leaderStartTimeoutMillis,
+            @Value("${gateway.proxy.cache.redis.enabled:false}") boolean redisEnabled,
+            @Value("${gateway.proxy.cache.redis.key-prefix:proxy:cache:}") String redisKeyPrefix) {
+        this.streamingProxyEngine = streamingProxyEngine;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.paths = paths.stream().map(String::trim).filter(p -> !p.isEmpty()).toList();
+        this.methods = methods.stream().map(m -> m.trim().toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.maxMemoryBytes = maxMemorySize.toBytes();
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.coalesceTimeoutSeconds = coalesceTimeoutSeconds;
+        this.leaderStartTimeoutMillis = leaderStartTimeoutMillis;
+        this.redisEnabled = redisEnabled;
+        this.redisKeyPrefix = redisKeyPrefix;
+
+        Gauge.builder("gateway.proxy.cache.bytes", this, ProxyResponseCache::getTotalBytes)
+                .baseUnit("bytes")
+                .description("메모리 캐시에 보관 중인 응답 크기")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 대상 요청인지 (설정된 경로/메서드, 클라이언트가 no-store 를 요청하지 않은 경우)
+     */
+    public boolean applies(HttpMethod method, HttpServletRequest request) {
+        if (!enabled || !methods.contains(method.name())) {
+            return false;
+        }
+        String requestUri = request.getRequestURI();
+        if (paths.stream().noneMatch(requestUri::startsWith)) {
+            return false;
+        }
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    /**
+     * 캐시 조회 → (없으면) 같은 요청이 진행 중이면 그 응답을 기다림 → (없으면) 업스트림 전달 후 저장
+     * 예외는 StreamingProxyEngine.forward 와 동일합니다.
+     */
+    public ResponseEntity<StreamingResponseBody> forward(String downstream, URI uri, HttpMethod method,
+            HttpServletRequest request) throws IOException, InterruptedException {
+        // 본문은 max-body-size 까지만 읽어서 키에 사용 (더 크면 캐시하지 않고 읽은 부분과 나머지를 이어서 전달)
+        byte[] body = new byte[0];
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return streamingProxyEngine.forward(downstream, uri, method, request);
+        }
+        if (request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null) {
+            ServletInputStream in = request.getInputStream();
+            body = in.readNBytes((int) maxBodyBytes + 1);
+            request = new CachedBodyRequest(request, body, in);
+            if (body.length > maxBodyBytes) {
+                return streamingProxyEngine.forward(downstream, uri, method, request);
+            }
+        }
+
+        String key = key(method, uri, request, body);
+        boolean revalidate = requestsRevalidation(request);
+        if (!revalidate) {
+            Entry cached = lookup(key);
+            if (cached != null) {
+                return serve(cached, method, "HIT");
+            }
+        }
+
+        CompletableFuture<Entry> flight = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            // 같은 요청이 이미 업스트림에 가 있음 - 그 응답을 함께 사용
+            Entry shared = await(existing);
+            if (shared != null) {
+                count("coalesced", "none");
+                return serve(shared, method, "HIT");
+            }
+            // 저장할 수 없는 응답(오류, 스트리밍, 크기 초과)이었으면 직접 전달
+            return streamingProxyEngine.forward(downstream, uri, method, request);
+        }
+
+        count("miss", "none");
+        ResponseEntity<StreamingResponseBody> response;
+        try {
+            response = streamingProxyEngine.forward(downstream, uri, method, request);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            finish(key, flight, null);
+            throw e;
+        }
+
+        long ttlSeconds = ttlSeconds(response);
+        if (ttlSeconds <= 0 || response.getBody() == null) {
+            finish(key, flight, null);
+            return withCacheStatus(response, "MISS");
+        }
+
+        // 응답 본문이 전송되지 않고 버려지면(클라이언트 연결 종료, 비동기 처리 거부 등) teeBody가 호출되지 않으므로
+        // 전송이 제때 시작되지 않은 경우 기다리는 요청을 바로 풀어줌 (업스트림 응답은 나중에 전송되면 그대로 전달)
+        CompletableFuture<Boolean> started = new CompletableFuture<>();
+        started.completeOnTimeout(false, leaderStartTimeoutMillis, TimeUnit.MILLISECONDS)
+                .thenAccept(writing -> {
+                    if (!writing) {
+                        log.debug("[ProxyResponseCache] 응답 전송이 시작되지 않아 대기 요청 해제: {}", uri);
+                        finish(key, flight, null);
+                    }
+                });
+
+        // 클라이언트에 전달하면서 본문을 함께 모아 두고, 전송이 끝나면 저장
+        StreamingResponseBody upstreamBody = response.getBody();
+        StreamingResponseBody teeBody = out -> {
+            started.complete(true);
+            CapturingOutputStream capture = new CapturingOutputStream(out, maxEntryBytes);
+            Entry entry = null;
+            try {
+                upstreamBody.writeTo(capture);
+                if (!capture.overflowed) {
+                    long now = System.currentTimeMillis();
+                    entry = new Entry(response.getStatusCode().value(), toMap(response.getHeaders()),
+                            capture.toByteArray(), now, now + TimeUnit.SECONDS.toMillis(ttlSeconds));
+                    store(key, entry);
+                }
+            } finally {
+                finish(key, flight, entry);
+            }
+        };
+        return withCacheStatus(ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(teeBody), "MISS");
+    }
+
+    public long getTotalBytes() {
+        synchronized (memory) {
+            return totalBytes;
+        }
+    }
+
+    private Entry lookup(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    count("hit", "memory");
+                    return entry;
+                }
+                memory.remove(key);
+                totalBytes -= entry.body.length;
+            }
+        }
+        if (redisEnabled) {
+            try {
+                byte[] raw = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                        connection.stringCommands().get(redisKey(key)));
+                if (raw != null) {
+                    Entry entry = objectMapper.readValue(raw, Entry.class);
+                    if (entry.expiresAt > now) {
+                        putMemory(key, entry);
+                        count("hit", "redis");
+                        return entry;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("[ProxyResponseCache] Redis 조회 실패: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void store(String key, Entry entry) {
+        putMemory(key, entry);
+        if (redisEnabled) {
+            try {
+                byte[] raw = objectMapper.writeValueAsBytes(entry);
+                long ttlMillis = Math.max(1, entry.expiresAt - System.currentTimeMillis());
+                stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(redisKey(key), raw, Expiration.milliseconds(ttlMillis), RedisStringCommands.SetOption.upsert()));
+            } catch (Exception e) {
+                log.warn("[ProxyResponseCache] Redis 저장 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void putMemory(String key, Entry entry) {
+        synchronized (memory) {
+            Entry previous = memory.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.body.length;
+            }
+            totalBytes += entry.body.length;
+            // 가장 오래 사용되지 않은 항목부터 제거
+            Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+            while (totalBytes > maxMemoryBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().body.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private Entry await(CompletableFuture<Entry> flight) throws InterruptedException {
+        try {
+            return flight.get(coalesceTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private void finish(String key, CompletableFuture<Entry> flight, Entry entry) {
+        inFlight.remove(key, flight);
+        flight.complete(entry);
+    }
+
+    /**
+     * 업스트림 응답의 보관 시간 (0이면 저장하지 않음)
+     */
+    private long ttlSeconds(ResponseEntity<StreamingResponseBody> response) {
+        HttpHeaders headers = response.getHeaders();
+        if (response.getStatusCode().value() != 200 || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return 0L;
+        }
+        if (headers.getContentLength() > maxEntryBytes) {
+            return 0L;
+        }
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/event-stream")) {
+            return 0L;
+        }
+        for (String vary : headers.getVary()) {
+            if (!VARY_HEADERS.contains(vary.trim().toLowerCase(Locale.ROOT))) {
+                return 0L;
+            }
+        }
+
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return Math.min(defaultTtlSeconds, maxTtlSeconds);
+        }
+        long maxAge = -1L;
+        long sharedMaxAge = -1L;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String d = directive.trim();
+            if (d.equals("no-store") || d.equals("no-cache") || d.equals("private")) {
+                return 0L;
+            }
+            if (d.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(d.substring("s-maxage=".length()));
+            } else if (d.startsWith("max-age=")) {
+                maxAge = parseSeconds(d.substring("max-age=".length()));
+            }
+        }
+        long ttl = sharedMaxAge >= 0 ? sharedMaxAge : maxAge >= 0 ? maxAge : defaultTtlSeconds;
+        return Math.max(0L, Math.min(ttl, maxTtlSeconds));
+    }
+
+    private long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private boolean requestsRevalidation(HttpServletRequest request) {
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null) {
+            return false;
+        }
+        String value = cacheControl.toLowerCase(Locale.ROOT).replace(" ", "");
+        return value.contains("no-cache") || value.contains("max-age=0");
+    }
+
+    private ResponseEntity<StreamingResponseBody> serve(Entry entry, HttpMethod method, String cacheStatus) {
+        HttpHeaders headers = new HttpHeaders();
+        entry.headers.forEach(headers::addAll);
+        long ageSeconds = Math.max(0, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - entry.storedAt));
+        headers.set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        headers.set("X-Cache", cacheStatus);
+        byte[] body = entry.body;
+        return ResponseEntity.status(entry.status)
+                .headers(headers)
+                .body(out -> {
+                    if (!HttpMethod.HEAD.equals(method)) {
+                        out.write(body);
+                    }
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> withCacheStatus(ResponseEntity<StreamingResponseBody> response,
+            String cacheStatus) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set("X-Cache", cacheStatus);
+        return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
+    }
+
+    private String key(HttpMethod method, URI uri, HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method.name() + "\n" + uri + "\n").getBytes(StandardCharsets.UTF_8));
+            for (String header : VARY_HEADERS) {
+                String value = request.getHeader(header);
+                digest.update((header + ":" + (value != null ? value : "") + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private byte[] redisKey(String key) {
+        return (redisKeyPrefix + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, List<String>> toMap(HttpHeaders headers) {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        headers.forEach((name, values) -> map.put(name, List.copyOf(values)));
+        return map;
+    }
+
+    private void count(String result, String tier) {
+        meterRegistry.counter("gateway.proxy.cache", "result", result, "tier", tier).increment();
+    }
+
+    /**
+     * 캐시된 응답 (Redis 에는 JSON 으로 저장, 본문은 base64)
+     */
+    record Entry(int status, Map<String, List<String>> headers, byte[] body, long storedAt, long expiresAt) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other && status == other.status && storedAt == other.storedAt
+                    && expiresAt == other.expiresAt && headers.equals(other.headers) && Arrays.equals(body, other.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(storedAt) + Arrays.hashCode(body);
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[status=" + status + ", bytes=" + body.length + ", expiresAt=" + expiresAt + "]";
+        }
+    }
+
+    /**
+     * 클라이언트로 쓰는 바이트를 최대 크기까지 함께 보관 (넘으면 보관만 중단하고 전달은 계속)
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+        private final long maxBytes;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        private CapturingOutputStream(OutputStream out, long maxBytes) {
+            super(out);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (overflowed) {
+                return;
+            }
+            if (buffer.size() + len > maxBytes) {
+                overflowed = true;
+                buffer.reset();
+                return;
+            }
+            buffer.write(b, off, len);
+        }
+
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+    /**
+     * 키 계산을 위해 미리 읽은 본문 앞부분과 아직 읽지 않은 나머지를 이어서 제공하는 요청
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final ByteArrayInputStream prefix;
+        private final ServletInputStream rest;
+        private final InputStream body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] prefix, ServletInputStream rest) {
+            super(request);
+            this.prefix = new ByteArrayInputStream(prefix);
+            this.rest = rest;
+            this.body = new SequenceInputStream(this.prefix, rest);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return body.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return prefix.available() == 0 && rest.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return prefix.available() > 0 || rest.isReady();
+                }
+
+                /**
+                 * 원래 입력 스트림에 등록 (나머지를 이미 모두 읽었으면 미리 읽은 앞부분을 먼저 알림)
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    rest.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            readListener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            if (prefix.available() > 0) {
+                                readListener.onDataAvailable();
+                            }
+                            readListener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+                }
+            };
+        }
+    }
+}
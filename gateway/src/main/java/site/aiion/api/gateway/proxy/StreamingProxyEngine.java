@@ -0,0 +1,389 @@
+package site.aiion.api.gateway.proxy;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.gateway.resilience.DownstreamGuard;
+import site.aiion.api.gateway.resilience.DownstreamLimiter;
+
+/**
+ * 스트리밍 프록시 엔진 (JDK HttpClient, 연결 재사용)
+ *
+ * 요청 본문은 서블릿 입력 스트림에서 그대로 업스트림으로 전송하고,
+ * 응답 본문은 StreamingResponseBody로 읽는 즉시 클라이언트에 전달합니다. (전체 응답을 메모리에 모으지 않음)
+ * LLM 토큰 단위 출력도 생성되는 대로 브라우저에 도착합니다.
+ *
+ * 다운스트림 동시 요청 허가(DownstreamGuard)는 응답 전송이 끝날 때까지 유지됩니다.
+ * 응답 헤더 대기 시간은 최근 응답 시간 기반 적응형 타임아웃을 사용하고(최대 response-timeout-seconds),
+ * 본문 없는 GET/HEAD 요청은 헤지(hedge.enabled)가 켜져 있으면 응답이 늦을 때 같은 요청을 한 번 더 보냅니다.
+ *
+ * 본문은 바이트 그대로 전달하므로 multipart 업로드, PNG 등 바이너리 응답도 손상되지 않습니다.
+ * 요청당 메모리는 전달 버퍼(buffer-size)와 HttpClient 전송 버퍼로 제한되며, 본문 크기는 max-request-size 로 제한합니다.
+ *
+ * 업스트림 응답이 text/event-stream 이면 SSE 중계 모드로 전환하여 이벤트(빈 줄로 끝나는 단위)마다 즉시 flush 합니다.
+ * 클라이언트에 쓰기가 끝나야 업스트림에서 다음 데이터를 읽으므로 느린 클라이언트는 업스트림 속도를 늦추고(backpressure),
+ * 클라이언트가 연결을 끊으면 업스트림 응답 스트림을 닫아 생성을 중단시킵니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamingProxyEngine {
+
+    // JDK HttpClient가 직접 설정할 수 없는 헤더 + hop-by-hop 헤더
+    private static final Set<String> EXCLUDED_REQUEST_HEADERS = Set.of(
+            "host", "content-length", "connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "expect", "http2-settings");
+
+    private static final Set<String> EXCLUDED_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "trailer", "upgrade");
+
+    // RestTemplateConfig.httpClient
+    private final HttpClient httpClient;
+    private final DownstreamGuard downstreamGuard;
+
+    // 응답 헤더를 받을 때까지의 최대 대기 시간 (CPU 모델 추론 시간 고려, 실제 값은 DownstreamGuard가 최근 응답 시간으로 조정)
+    @Value("${gateway.proxy.response-timeout-seconds:120}")
+    private long responseTimeoutSeconds;
+
+    // 응답 본문 전달 버퍼 크기
+    @Value("${gateway.proxy.buffer-size:8192}")
+    private int bufferSize;
+
+    // 요청 본문 최대 크기 (nginx client_max_body_size 와 동일하게 유지)
+    @Value("${gateway.proxy.max-request-size:100MB}")
+    private DataSize maxRequestSize;
+
+    /**
+     * 요청을 업스트림으로 전달하고, 응답 헤더를 받으면 본문은 스트리밍으로 전달
+     * @throws site.aiion.api.gateway.resilience.CircuitOpenException 다운스트림 서킷 브레이커 OPEN
+     * @throws site.aiion.api.gateway.resilience.DownstreamBusyException 다운스트림 동시 요청 한도 초과
+     * @throws PayloadTooLargeException 요청 본문이 max-request-size 초과
+     * @throws IOException 업스트림 연결/전송 실패 (시간 초과는 java.net.http.HttpTimeoutException)
+     */
+    public ResponseEntity<StreamingResponseBody> forward(String downstream, URI uri, HttpMethod method,
+            HttpServletRequest request) throws IOException, InterruptedException {
+        long maxBytes = maxRequestSize.toBytes();
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new PayloadTooLargeException(maxBytes);
+        }
+
+        DownstreamGuard.Call call = downstreamGuard.begin(downstream);
+        LimitedInputStream requestBody = null;
+        HttpResponse<InputStream> upstream;
+        try {
+            requestBody = hasBody(request) ? new LimitedInputStream(request.getInputStream(), maxBytes) : null;
+            Duration timeout = downstreamGuard.timeout(downstream, Duration.ofSeconds(responseTimeoutSeconds));
+            HttpRequest upstreamRequest = buildRequest(uri, method, request, requestBody, timeout);
+            Duration hedgeDelay = requestBody == null && isIdempotent(method) ? downstreamGuard.hedgeDelay(downstream) : null;
+            upstream = hedgeDelay != null
+                    ? sendHedged(downstream, upstreamRequest, hedgeDelay)
+                    : httpClient.send(upstreamRequest, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            if (requestBody != null && requestBody.exceeded) {
+                // chunked 업로드가 도중에 한도를 넘은 경우 (업스트림 요청은 중단됨, 다운스트림 장애로 집계하지 않음)
+                call.close();
+                throw new PayloadTooLargeException(maxBytes);
+            }
+            if (e instanceof IOException) {
+                // 연결 실패, 응답 시간 초과
+                call.failure();
+            }
+            call.close();
+            throw e;
+        }
+        if (upstream.statusCode() >= 500) {
+            call.failure();
+        } else {
+            call.success();
+        }
+
+        HttpHeaders headers = copyResponseHeaders(upstream.headers().map());
+        boolean eventStream = isEventStream(headers);
+        if (eventStream) {
+            // 중간 프록시(nginx)와 브라우저가 이벤트를 모아두지 않도록
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.setCacheControl("no-cache");
+            headers.set("X-Accel-Buffering", "no");
+        }
+
+        StreamingResponseBody body = out -> {
+            try (call; InputStream in = upstream.body()) {
+                if (eventStream) {
+                    relayEvents(in, out);
+                } else {
+                    copy(in, out);
+                }
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 시 업스트림 응답 스트림도 위에서 닫힘 (업스트림 요청 취소)
+                log.debug("[Proxy] {} 응답 전달 중단: {} ({})", downstream, uri, e.getMessage());
+                throw e;
+            }
+        };
+        return ResponseEntity.status(upstream.statusCode())
+                .headers(headers)
+                .body(body);
+    }
+
+    private boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    /**
+     * 헤지 요청: hedgeDelay 안에 응답 헤더가 오지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용
+     * (동시 요청 허가에 여유가 없으면 헤지 없이 첫 요청만 기다림, 늦게 도착한 응답은 닫아서 연결 반납)
+     */
+    private HttpResponse<InputStream> sendHedged(String downstream, HttpRequest upstreamRequest, Duration hedgeDelay)
+            throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<InputStream>> primary =
+                httpClient.sendAsync(upstreamRequest, HttpResponse.BodyHandlers.ofInputStream());
+        try {
+            return primary.get(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 헤지 요청 전송
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            throw e;
+        }
+
+        DownstreamLimiter.Permit hedgePermit = downstreamGuard.tryAcquireHedge(downstream);
+        if (hedgePermit == null) {
+            return await(primary);
+        }
+        log.debug("[Proxy] {} 응답 지연({}ms), 헤지 요청 전송: {}", downstream, hedgeDelay.toMillis(), upstreamRequest.uri());
+        CompletableFuture<HttpResponse<InputStream>> hedge =
+                httpClient.sendAsync(upstreamRequest, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<HttpResponse<InputStream>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<InputStream>> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!winner.complete(response)) {
+                        closeQuietly(response.body());
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return await(winner);
+        } finally {
+            // 진 쪽 요청 취소 (이미 완료된 future는 영향 없음)
+            primary.cancel(true);
+            hedge.cancel(true);
+            hedgePermit.close();
+        }
+    }
+
+    private HttpResponse<InputStream> await(CompletableFuture<HttpResponse<InputStream>> future)
+            throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // 버려지는 응답
+        }
+    }
+
+    private boolean isEventStream(HttpHeaders headers) {
+        try {
+            MediaType contentType = headers.getContentType();
+            return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.max(1024, bufferSize)];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            // 더 읽을 데이터가 아직 도착하지 않았을 때만 flush
+            // (토큰 스트리밍은 바로 전달되고, 큰 바이너리 응답은 불필요한 flush 없이 연속 전송)
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * SSE 중계: 이벤트 경계(빈 줄)마다 flush, 이벤트 중간에서는 더 읽을 데이터가 없을 때만 flush
+     */
+    private void relayEvents(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.max(1024, bufferSize)];
+        // 직전 바이트가 줄바꿈인지 (\r 은 무시하여 \r\n 도 처리)
+        boolean afterNewline = false;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    if (afterNewline) {
+                        out.write(buffer, start, i + 1 - start);
+                        out.flush();
+                        start = i + 1;
+                    }
+                    afterNewline = true;
+                } else if (b != '\r') {
+                    afterNewline = false;
+                }
+            }
+            if (start < read) {
+                out.write(buffer, start, read - start);
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private HttpRequest buildRequest(URI uri, HttpMethod method, HttpServletRequest request, InputStream body,
+            Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout);
+
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            if (EXCLUDED_REQUEST_HEADERS.contains(headerName.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(headerName);
+            while (values.hasMoreElements()) {
+                builder.header(headerName, values.nextElement());
+            }
+        }
+
+        if (body == null) {
+            return builder.method(method.name(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        // 본문이 있는데 Content-Type이 없으면 JSON으로 간주 (기존 동작 유지)
+        if (request.getContentType() == null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        // multipart 업로드도 파싱 없이 원본 바이트 그대로 전송 (ProxyMultipartResolver)
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> body);
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0) {
+            // 길이를 알면 Content-Length 유지 (chunked 전송을 지원하지 않는 업스트림 대비)
+            publisher = HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength);
+        }
+        return builder.method(method.name(), publisher).build();
+    }
+
+    private HttpHeaders copyResponseHeaders(Map<String, List<String>> upstreamHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            // HTTP/2 가상 헤더(:status 등)와 hop-by-hop 헤더 제외
+            if (name.startsWith(":") || EXCLUDED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                return;
+            }
+            headers.addAll(name, values);
+        });
+        return headers;
+    }
+
+    /**
+     * 최대 크기를 넘으면 읽기를 중단하는 입력 스트림 (Content-Length 없는 chunked 업로드 대비)
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+        private volatile boolean exceeded;
+
+        private LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws IOException {
+            count += read;
+            if (count > maxBytes) {
+                exceeded = true;
+                throw new PayloadTooLargeException(maxBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package site.aiion.api.gateway.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다운스트림 서킷 브레이커 (최근 N개 호출 기준)
+ *
+ * CLOSED: 최근 호출의 실패율 또는 느린 호출 비율이 임계값을 넘으면 OPEN
+ * OPEN: open-seconds 동안 호출을 즉시 거부 (스레드가 응답 시간 초과까지 붙잡히지 않음)
+ * HALF_OPEN: 시험 호출 half-open-calls개를 허용, 모두 성공하면 CLOSED, 하나라도 실패/지연되면 다시 OPEN
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // 최근 호출 결과 링 버퍼
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int index;
+    private int count;
+    private int failedCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    /**
+     * @param windowSize 실패율 계산에 사용하는 최근 호출 수
+     * @param minimumCalls 실패율을 판단하기 위한 최소 호출 수
+     * @param failureRateThreshold 실패율 임계값 (0~100)
+     * @param slowCallMillis 이 시간 이상 걸린 호출은 느린 호출로 집계
+     * @param slowCallRateThreshold 느린 호출 비율 임계값 (0~100)
+     * @param openSeconds OPEN 상태 유지 시간
+     * @param halfOpenCalls HALF_OPEN 상태에서 허용하는 시험 호출 수
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+            long slowCallMillis, double slowCallRateThreshold, long openSeconds, int halfOpenCalls) {
+        this.name = name;
+        this.failedCalls = new boolean[Math.max(1, windowSize)];
+        this.slowCalls = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failedCalls.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * 호출 허용 여부 (true면 onSuccess/onFailure/onIgnored 중 하나를 반드시 호출)
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(long elapsedNanos) {
+        record(false, elapsedNanos >= slowCallNanos);
+    }
+
+    public synchronized void onFailure(long elapsedNanos) {
+        record(true, elapsedNanos >= slowCallNanos);
+    }
+
+    /**
+     * 결과를 집계하지 않고 허가만 반납 (호출 전에 취소된 경우 등)
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * OPEN 상태가 끝날 때까지 남은 시간 (Retry-After 용)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)));
+    }
+
+    private void record(boolean failed, boolean slow) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (halfOpenInFlight > 0) {
+                    halfOpenInFlight--;
+                }
+                if (failed || slow) {
+                    log.warn("[CircuitBreaker] {} 시험 호출 {}, 다시 OPEN", name, failed ? "실패" : "지연");
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (count == failedCalls.length) {
+                    failedCount -= failedCalls[index] ? 1 : 0;
+                    slowCount -= slowCalls[index] ? 1 : 0;
+                } else {
+                    count++;
+                }
+                failedCalls[index] = failed;
+                slowCalls[index] = slow;
+                failedCount += failed ? 1 : 0;
+                slowCount += slow ? 1 : 0;
+                index = (index + 1) % failedCalls.length;
+
+                if (count >= minimumCalls) {
+                    double failureRate = failedCount * 100.0 / count;
+                    double slowRate = slowCount * 100.0 / count;
+                    if (failureRate >= failureRateThreshold || slowRate >= slowCallRateThreshold) {
+                        log.warn("[CircuitBreaker] {} OPEN (실패율 {}%, 느린 호출 {}%, 최근 {}건)",
+                                name, Math.round(failureRate), Math.round(slowRate), count);
+                        transitionTo(State.OPEN);
+                    }
+                }
+            }
+            case OPEN -> {
+                // OPEN 전환 전에 시작된 호출의 결과는 무시
+            }
+        }
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenInFlight = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                index = 0;
+                count = 0;
+                failedCount = 0;
+                slowCount = 0;
+            }
+        }
+        if (previous != next && next != State.OPEN) {
+            log.info("[CircuitBreaker] {} {} → {}", name, previous, next);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package site.aiion.api.gateway.resilience;
+
+/**
+ * 서킷 브레이커가 열려 있어 다운스트림 호출을 즉시 거부함
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final String downstream;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String downstream, long retryAfterMillis) {
+        super("다운스트림 서킷 브레이커 OPEN: " + downstream);
+        this.downstream = downstream;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
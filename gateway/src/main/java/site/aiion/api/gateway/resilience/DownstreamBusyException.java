@@ -0,0 +1,18 @@
+package site.aiion.api.gateway.resilience;
+
+/**
+ * 다운스트림 동시 요청 한도 초과 (대기 시간 내에 허가를 얻지 못함)
+ */
+public class DownstreamBusyException extends RuntimeException {
+
+    private final String downstream;
+
+    public DownstreamBusyException(String downstream, int limit) {
+        super("다운스트림 동시 요청 한도 초과: " + downstream + " (max-concurrent=" + limit + ")");
+        this.downstream = downstream;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+}
@@ -0,0 +1,245 @@
+package site.aiion.api.gateway.resilience;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다운스트림 호출 보호 (서킷 브레이커 + 동시 요청 격리 + 적응형 타임아웃)
+ *
+ * 다운스트림마다 독립된 서킷 브레이커와 동시 요청 한도(DownstreamLimiter)를 두므로,
+ * RAG 서버가 멈춰도 일기 분석(diary-inference) 호출은 영향을 받지 않습니다.
+ * 타임아웃은 최근 응답 시간 백분위(timeout.percentile) × timeout.multiplier 로 계산하며,
+ * 호출하는 쪽이 지정한 최대값과 timeout.min-ms 사이로 제한합니다.
+ *
+ * 설정: gateway.downstream.{name}.{key} (없으면 gateway.resilience.{key})
+ * 상태는 actuator metrics의 gateway.downstream.circuit.state (0=CLOSED, 1=HALF_OPEN, 2=OPEN) 로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DownstreamGuard {
+
+    private final DownstreamLimiter downstreamLimiter;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * 서킷 브레이커와 동시 요청 허가를 거쳐 호출 (4xx 응답은 다운스트림 장애로 집계하지 않음)
+     * @throws CircuitOpenException 서킷 브레이커가 열려 있는 경우
+     * @throws DownstreamBusyException 대기 시간 내에 허가를 얻지 못한 경우
+     */
+    public <T> T call(String downstream, Supplier<T> call) {
+        try (Call guarded = begin(downstream)) {
+            try {
+                T result = call.get();
+                guarded.success();
+                return result;
+            } catch (HttpClientErrorException e) {
+                guarded.success();
+                throw e;
+            } catch (RuntimeException e) {
+                guarded.failure();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 호출 시작 (스트리밍 응답처럼 결과 판정과 허가 반납 시점이 다른 경우 사용)
+     * 응답을 받으면 success()/failure()로 결과를 기록하고, 전송이 끝나면 반드시 close() 해야 합니다.
+     * @throws CircuitOpenException 서킷 브레이커가 열려 있는 경우
+     * @throws DownstreamBusyException 대기 시간 내에 허가를 얻지 못한 경우
+     */
+    public Call begin(String downstream) {
+        Policy policy = policy(downstream);
+        if (!policy.circuitBreaker.tryAcquire()) {
+            policy.rejected.increment();
+            throw new CircuitOpenException(downstream, policy.circuitBreaker.getRemainingOpenMillis());
+        }
+        DownstreamLimiter.Permit permit;
+        try {
+            permit = downstreamLimiter.acquire(downstream);
+        } catch (RuntimeException e) {
+            policy.circuitBreaker.onIgnored();
+            throw e;
+        }
+        return new Call(policy, permit);
+    }
+
+    /**
+     * 응답 대기 타임아웃 (최근 지연 시간 기반, 기록이 부족하면 maxTimeout)
+     */
+    public Duration timeout(String downstream, Duration maxTimeout) {
+        Policy policy = policy(downstream);
+        if (!policy.adaptiveTimeout || policy.latency.getCount() < policy.minSamples) {
+            return maxTimeout;
+        }
+        long observed = policy.latency.percentile(policy.timeoutPercentile);
+        long millis = Math.max(policy.minTimeoutMillis, (long) (observed * policy.timeoutMultiplier));
+        return Duration.ofMillis(Math.min(millis, maxTimeout.toMillis()));
+    }
+
+    /**
+     * 헤지 요청 지연 (이 시간 안에 응답이 없으면 같은 요청을 한 번 더 보냄)
+     * @return 헤지를 사용하지 않거나 기록이 부족하면 null
+     */
+    public Duration hedgeDelay(String downstream) {
+        Policy policy = policy(downstream);
+        if (!policy.hedgeEnabled || policy.latency.getCount() < policy.minSamples) {
+            return null;
+        }
+        long observed = policy.latency.percentile(policy.hedgePercentile);
+        return Duration.ofMillis(Math.max(policy.hedgeMinDelayMillis, observed));
+    }
+
+    /**
+     * 헤지 요청용 추가 허가 (여유가 없으면 null, 헤지 요청을 보내지 않음)
+     */
+    public DownstreamLimiter.Permit tryAcquireHedge(String downstream) {
+        DownstreamLimiter.Permit permit = downstreamLimiter.tryAcquire(downstream);
+        if (permit != null) {
+            policy(downstream).hedged.increment();
+        }
+        return permit;
+    }
+
+    /**
+     * 요청마다 적응형 타임아웃을 읽기 타임아웃으로 적용하는 RestTemplate용 요청 팩토리
+     */
+    public ClientHttpRequestFactory requestFactory(String downstream, HttpClient httpClient, Duration maxTimeout) {
+        return (uri, httpMethod) -> {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(timeout(downstream, maxTimeout));
+            return factory.createRequest(uri, httpMethod);
+        };
+    }
+
+    /**
+     * 진행 중인 호출 (결과 기록과 허가 반납은 각각 한 번만 처리)
+     */
+    public static final class Call implements AutoCloseable {
+        private final Policy policy;
+        private final DownstreamLimiter.Permit permit;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Call(Policy policy, DownstreamLimiter.Permit permit) {
+            this.policy = policy;
+            this.permit = permit;
+        }
+
+        public void success() {
+            if (recorded.compareAndSet(false, true)) {
+                long elapsed = System.nanoTime() - startNanos;
+                policy.latency.record(TimeUnit.NANOSECONDS.toMillis(elapsed));
+                policy.circuitBreaker.onSuccess(elapsed);
+            }
+        }
+
+        public void failure() {
+            if (recorded.compareAndSet(false, true)) {
+                long elapsed = System.nanoTime() - startNanos;
+                // 시간 초과도 기록해야 다운스트림이 전반적으로 느려졌을 때 타임아웃이 따라 늘어남
+                policy.latency.record(TimeUnit.NANOSECONDS.toMillis(elapsed));
+                policy.circuitBreaker.onFailure(elapsed);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (recorded.compareAndSet(false, true)) {
+                policy.circuitBreaker.onIgnored();
+            }
+            permit.close();
+        }
+    }
+
+    private Policy policy(String downstream) {
+        return policies.computeIfAbsent(downstream, this::createPolicy);
+    }
+
+    private Policy createPolicy(String downstream) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(downstream,
+                property(downstream, "circuit-breaker.window-size", Integer.class, 50),
+                property(downstream, "circuit-breaker.minimum-calls", Integer.class, 10),
+                property(downstream, "circuit-breaker.failure-rate-threshold", Double.class, 50.0),
+                property(downstream, "circuit-breaker.slow-call-ms", Long.class, 60000L),
+                property(downstream, "circuit-breaker.slow-call-rate-threshold", Double.class, 80.0),
+                property(downstream, "circuit-breaker.open-seconds", Long.class, 30L),
+                property(downstream, "circuit-breaker.half-open-calls", Integer.class, 3));
+        Policy policy = new Policy(circuitBreaker,
+                new LatencyTracker(property(downstream, "timeout.window-size", Integer.class, 200)),
+                property(downstream, "timeout.adaptive", Boolean.class, true),
+                property(downstream, "timeout.min-samples", Integer.class, 20),
+                property(downstream, "timeout.percentile", Double.class, 0.99),
+                property(downstream, "timeout.multiplier", Double.class, 3.0),
+                property(downstream, "timeout.min-ms", Long.class, 5000L),
+                property(downstream, "hedge.enabled", Boolean.class, false),
+                property(downstream, "hedge.percentile", Double.class, 0.95),
+                property(downstream, "hedge.min-delay-ms", Long.class, 50L),
+                Counter.builder("gateway.downstream.rejected")
+                        .tag("downstream", downstream)
+                        .tag("reason", "circuit-open")
+                        .description("서킷 브레이커가 거부한 호출 수")
+                        .register(meterRegistry),
+                Counter.builder("gateway.downstream.hedged")
+                        .tag("downstream", downstream)
+                        .description("헤지 요청 전송 수")
+                        .register(meterRegistry));
+        Gauge.builder("gateway.downstream.circuit.state", circuitBreaker, cb -> switch (cb.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .tag("downstream", downstream)
+                .description("서킷 브레이커 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.downstream.latency.p99", policy.latency, l -> l.percentile(0.99))
+                .tag("downstream", downstream)
+                .baseUnit("milliseconds")
+                .description("최근 응답 지연 시간 p99")
+                .register(meterRegistry);
+        log.info("[DownstreamGuard] {} 적응형 타임아웃: {}, 헤지 요청: {}", downstream,
+                policy.adaptiveTimeout, policy.hedgeEnabled);
+        return policy;
+    }
+
+    private <T> T property(String downstream, String key, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("gateway.resilience." + key, type, defaultValue);
+        return environment.getProperty("gateway.downstream." + downstream + "." + key, type, fallback);
+    }
+
+    private record Policy(
+            CircuitBreaker circuitBreaker,
+            LatencyTracker latency,
+            boolean adaptiveTimeout,
+            int minSamples,
+            double timeoutPercentile,
+            double timeoutMultiplier,
+            long minTimeoutMillis,
+            boolean hedgeEnabled,
+            double hedgePercentile,
+            long hedgeMinDelayMillis,
+            Counter rejected,
+            Counter hedged) {
+    }
+}
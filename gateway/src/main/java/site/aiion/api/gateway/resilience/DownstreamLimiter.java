@@ -0,0 +1,124 @@
+package site.aiion.api.gateway.resilience;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다운스트림별 동시 요청 수 제한 (세마포어)
+ *
+ * 가상 스레드 모드에서는 스레드 수가 더 이상 자연스러운 상한이 되지 않으므로,
+ * 느린 다운스트림(모델 서버, RAG 등)에 요청이 무제한으로 몰리지 않도록 여기서 제한합니다.
+ * 한도: gateway.downstream.{name}.max-concurrent (없으면 gateway.downstream.default-max-concurrent)
+ * 사용 중인 허가 수는 actuator metrics의 gateway.downstream.in-flight (downstream) 로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DownstreamLimiter {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    @Value("${gateway.downstream.default-max-concurrent:64}")
+    private int defaultMaxConcurrent;
+
+    // 허가를 기다리는 최대 시간 (초과 시 DownstreamBusyException)
+    @Value("${gateway.downstream.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMillis;
+
+    /**
+     * 허가를 얻은 뒤 호출 (호출이 끝나면 반납)
+     * @throws DownstreamBusyException 대기 시간 내에 허가를 얻지 못한 경우
+     */
+    public <T> T call(String downstream, Supplier<T> call) {
+        try (Permit permit = acquire(downstream)) {
+            return call.get();
+        }
+    }
+
+    /**
+     * 허가 획득 (스트리밍 응답처럼 호출이 끝난 뒤에도 응답 전송이 끝날 때까지 허가를 유지해야 할 때 사용)
+     * 반환된 Permit은 반드시 close() 해야 합니다.
+     * @throws DownstreamBusyException 대기 시간 내에 허가를 얻지 못한 경우
+     */
+    public Permit acquire(String downstream) {
+        Limit limit = limits.computeIfAbsent(downstream, this::createLimit);
+        boolean acquired;
+        try {
+            acquired = limit.semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamBusyException(downstream, limit.max);
+        }
+        if (!acquired) {
+            log.warn("[DownstreamLimiter] {} 동시 요청 한도({}) 초과, 요청 거부", downstream, limit.max);
+            throw new DownstreamBusyException(downstream, limit.max);
+        }
+        return new Permit(limit.semaphore);
+    }
+
+    /**
+     * 대기 없이 허가 획득 시도 (헤지 요청처럼 여유가 있을 때만 보내는 추가 호출용)
+     * @return 허가 (없으면 null)
+     */
+    public Permit tryAcquire(String downstream) {
+        Limit limit = limits.computeIfAbsent(downstream, this::createLimit);
+        return limit.semaphore.tryAcquire() ? new Permit(limit.semaphore) : null;
+    }
+
+    /**
+     * 획득한 허가 (close()를 여러 번 호출해도 한 번만 반납)
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+
+    private Limit createLimit(String downstream) {
+        int max = environment.getProperty("gateway.downstream." + downstream + ".max-concurrent",
+                Integer.class, defaultMaxConcurrent);
+        Limit limit = new Limit(Math.max(1, max));
+        Gauge.builder("gateway.downstream.in-flight", limit, l -> l.max - l.semaphore.availablePermits())
+                .tag("downstream", downstream)
+                .description("다운스트림으로 전송 중인 요청 수")
+                .register(meterRegistry);
+        log.info("[DownstreamLimiter] {} 동시 요청 한도: {}", downstream, limit.max);
+        return limit;
+    }
+
+    private static final class Limit {
+        private final int max;
+        private final Semaphore semaphore;
+
+        private Limit(int max) {
+            this.max = max;
+            this.semaphore = new Semaphore(max, true);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package site.aiion.api.gateway.resilience;
+
+import java.util.Arrays;
+
+/**
+ * 최근 호출 지연 시간 기록 (백분위 계산용)
+ *
+ * 최근 N개 지연 시간을 링 버퍼에 보관하고, 백분위는 일정 건수마다 한 번만 정렬해서 계산합니다.
+ */
+public class LatencyTracker {
+
+    // 백분위 스냅샷을 다시 계산하는 기록 간격
+    private static final int REFRESH_INTERVAL = 32;
+
+    private final long[] samples;
+    private int index;
+    private int count;
+    private int sinceSnapshot;
+    private long[] snapshot = new long[0];
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[Math.max(1, windowSize)];
+    }
+
+    public synchronized void record(long millis) {
+        samples[index] = millis;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sinceSnapshot++;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * 백분위 지연 시간 (기록이 없으면 -1)
+     * @param quantile 0~1 (예: 0.99)
+     */
+    public synchronized long percentile(double quantile) {
+        if (count == 0) {
+            return -1L;
+        }
+        if (snapshot.length == 0 || sinceSnapshot >= REFRESH_INTERVAL) {
+            snapshot = Arrays.copyOf(samples, count);
+            Arrays.sort(snapshot);
+            sinceSnapshot = 0;
+        }
+        int rank = (int) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * snapshot.length) - 1;
+        return snapshot[Math.max(0, rank)];
+    }
+}
@@ -0,0 +1,42 @@
+package site.aiion.api.gateway.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 요청 수 제한 (요청 간 최소 간격 방식)
+ * acquire()는 다음 허용 시각까지 호출 스레드를 대기시킵니다.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond 초당 허용 수 (0 이하면 제한 없음)
+     */
+    public RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+    }
+
+    /**
+     * 허가 1개 획득 (필요하면 대기)
+     */
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0L) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // 오래 쉬었다고 한꺼번에 몰아서 허용하지 않도록 기준 시각을 현재로 당김
+            if (nextFreeNanos < now) {
+                nextFreeNanos = now;
+            }
+            waitNanos = nextFreeNanos - now;
+            nextFreeNanos += intervalNanos;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package site.aiion.api.gateway.security;
+
+/**
+ * JWT로 인증된 사용자 (SecurityContext principal)
+ * @param userId users 테이블 id (토큰 subject)
+ * @param provider OAuth2 제공자 (kakao, naver, google), 없으면 null
+ */
+public record AuthenticatedUser(Long userId, String provider) {
+
+    // 관리자 (일기/자기소개 작성, 관리 API 권한)
+    public static final long ADMIN_USER_ID = 1L;
+
+    public boolean isAdmin() {
+        return userId != null && userId == ADMIN_USER_ID;
+    }
+}
@@ -0,0 +1,24 @@
+package site.aiion.api.gateway.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 인증 실패 응답
+ * 기존 컨트롤러 응답(Messenger)과 같은 형태({code, message, data})와 HTTP 상태(200)를 유지합니다.
+ */
+@RestControllerAdvice
+public class AuthenticationExceptionHandler {
+
+    @ExceptionHandler(UnauthenticatedException.class)
+    public Map<String, Object> handleUnauthenticated(UnauthenticatedException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("code", 401);
+        body.put("message", e.getMessage());
+        body.put("data", null);
+        return body;
+    }
+}
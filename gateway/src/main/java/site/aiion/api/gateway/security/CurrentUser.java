@@ -0,0 +1,22 @@
+package site.aiion.api.gateway.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 JwtAuthenticationFilter가 인증한 사용자(AuthenticatedUser)를 주입
+ *
+ * required=true(기본)인데 인증되지 않은 요청이면 UnauthenticatedException → code 401 응답
+ *   (토큰을 보냈는데 유효하지 않으면 그 사유를 메시지로 전달)
+ * required=false면 인증되지 않은 요청(토큰 없음, 유효하지 않은 토큰)에 null 주입 (익명 사용자로 처리)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    boolean required() default true;
+}
@@ -0,0 +1,41 @@
+package site.aiion.api.gateway.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * @CurrentUser AuthenticatedUser 파라미터 주입 (SecurityContext에서 꺼내므로 토큰을 다시 검증하지 않음)
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && AuthenticatedUser.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        // 토큰이 선택 사항이면 유효하지 않은 토큰도 익명 사용자로 처리
+        CurrentUser annotation = parameter.getParameterAnnotation(CurrentUser.class);
+        if (annotation != null && !annotation.required()) {
+            return null;
+        }
+        Object error = webRequest.getAttribute(JwtAuthenticationFilter.AUTH_ERROR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (error != null) {
+            throw new UnauthenticatedException(error.toString());
+        }
+        throw new UnauthenticatedException("인증 토큰이 필요합니다.");
+    }
+}
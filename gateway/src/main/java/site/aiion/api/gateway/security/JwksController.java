@@ -0,0 +1,40 @@
+package site.aiion.api.gateway.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JWT 검증용 공개키 세트 (JWKS)
+ *
+ * 다운스트림 서비스(RAG, Vision 등)는 이 키로 ES256/EdDSA 토큰을 직접 검증하므로 게이트웨이를 다시 호출하지 않습니다.
+ * 키 세트는 시작할 때 만들어 둔 바이트를 그대로 반환하며, If-None-Match 가 ETag와 같으면 304 응답합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "JWT 검증용 공개키")
+public class JwksController {
+
+    private final JwtSigningKeys jwtSigningKeys;
+
+    @Value("${jwt.signing.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JWKS 조회 (Public)", description = "ES256/EdDSA 토큰 서명 검증용 공개키 목록입니다. 토큰 헤더의 kid로 키를 선택합니다. HS256 모드에서는 빈 목록입니다.")
+    public ResponseEntity<byte[]> jwks() {
+        return ResponseEntity.ok()
+                .eTag(jwtSigningKeys.getJwksEtag())
+                .cacheControl(CacheControl.maxAge(jwksMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(jwtSigningKeys.getJwksJson());
+    }
+}
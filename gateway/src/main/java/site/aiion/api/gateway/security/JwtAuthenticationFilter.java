@@ -0,0 +1,89 @@
+package site.aiion.api.gateway.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * JWT 인증 필터 (요청당 한 번)
+ *
+ * Authorization: Bearer 토큰을 한 번만 검증하고, 성공하면 AuthenticatedUser를 SecurityContext에 넣습니다.
+ * 토큰이 없거나 유효하지 않아도 요청을 막지 않습니다. (인증이 필요한 엔드포인트는 @CurrentUser 에서 code 401 응답)
+ * 유효하지 않은 토큰이면 실패 사유를 요청 속성(AUTH_ERROR_ATTRIBUTE)에 남깁니다.
+ * 공개 경로(gateway.security.public-paths)와 CORS preflight 요청은 검증하지 않습니다.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String AUTH_ERROR_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".AUTH_ERROR";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final List<String> publicPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public JwtAuthenticationFilter(JwtTokenVerifier jwtTokenVerifier, List<String> publicPaths) {
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.publicPaths = publicPaths.stream().map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            Optional<Claims> claims = jwtTokenVerifier.tryParse(authHeader.substring(BEARER_PREFIX.length()));
+            Long userId = claims.map(this::userId).orElse(null);
+            if (userId != null) {
+                AuthenticatedUser user = new AuthenticatedUser(userId, claims.get().get("provider", String.class));
+                List<SimpleGrantedAuthority> authorities = user.isAdmin()
+                        ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                        : List.of(new SimpleGrantedAuthority("ROLE_USER"));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
+                SecurityContextHolder.setContext(context);
+            } else {
+                request.setAttribute(AUTH_ERROR_ATTRIBUTE, claims.isPresent()
+                        ? "토큰에서 사용자 ID를 추출할 수 없습니다."
+                        : "유효하지 않은 토큰입니다.");
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Long userId(Claims claims) {
+        String subject = claims.getSubject();
+        if (subject == null || subject.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(subject.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package site.aiion.api.gateway.security;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 서명 키 관리 (HS256 / ES256 / EdDSA)
+ *
+ * HS256(기본): jwt.secret 공유 비밀키로 서명 (기존 방식)
+ * ES256, EdDSA: 개인키로 서명하고 헤더에 kid를 넣어, 다운스트림 서비스가 /.well-known/jwks.json 의 공개키로 직접 검증
+ *
+ * 키 파일 (jwt.signing.key-dir):
+ * - {kid}.pub.pem : 공개키 (X.509 PEM) - 검증과 JWKS 공개에 사용
+ * - {kid}.pem     : 개인키 (PKCS#8 PEM) - jwt.signing.active-kid 의 키만 필요
+ * 키 교체: 새 키 쌍을 추가하고 active-kid 를 바꾼 뒤, 이전 키는 개인키만 지우고 공개키는 토큰 만료 시간까지 남겨 둡니다.
+ * key-dir 이 비어 있으면 시작할 때 임시 키 쌍을 만듭니다. (재시작하면 기존 토큰이 무효화되므로 개발용)
+ *
+ * JWKS 응답은 시작할 때 한 번 만들어 두고 ETag와 함께 그대로 반환합니다.
+ */
+@Slf4j
+@Component
+public class JwtSigningKeys {
+
+    public enum Mode {
+        HS256, ES256, EdDSA
+    }
+
+    private final Mode mode;
+    private final SecretKey hmacKey;
+    private final boolean acceptHmac;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String activeKeyId;
+    private final PrivateKey activePrivateKey;
+    // kid → 공개키 (현재 키 + 교체 전 키)
+    private final Map<String, PublicKey> publicKeys;
+    private final byte[] jwksJson;
+    private final String jwksEtag;
+    private final Locator<Key> keyLocator;
+
+    public JwtSigningKeys(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.signing.algorithm:HS256}") Mode mode,
+            @Value("${jwt.signing.key-dir:}") String keyDir,
+            @Value("${jwt.signing.active-kid:}") String activeKid,
+            @Value("${jwt.signing.accept-hs256:true}") boolean acceptHmac,
+            ObjectMapper objectMapper) throws IOException, GeneralSecurityException {
+        this.mode = mode;
+        this.hmacKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // HS256 모드에서는 HMAC 토큰만 발급하므로 항상 허용
+        this.acceptHmac = mode == Mode.HS256 || acceptHmac;
+
+        Map<String, PublicKey> loaded = new LinkedHashMap<>();
+        if (mode == Mode.HS256) {
+            this.signatureAlgorithm = null;
+            this.activeKeyId = null;
+            this.activePrivateKey = null;
+        } else {
+            this.signatureAlgorithm = mode == Mode.ES256 ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+            String keyAlgorithm = mode == Mode.ES256 ? "EC" : "Ed25519";
+            if (keyDir == null || keyDir.isBlank()) {
+                KeyPair keyPair = generateKeyPair(keyAlgorithm);
+                this.activeKeyId = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+                this.activePrivateKey = keyPair.getPrivate();
+                loaded.put(activeKeyId, keyPair.getPublic());
+                log.warn("[JwtSigningKeys] jwt.signing.key-dir 미설정 - 임시 {} 키 사용 (kid={}, 재시작하면 기존 토큰 무효)",
+                        mode, activeKeyId);
+            } else {
+                if (activeKid == null || activeKid.isBlank()) {
+                    throw new IllegalStateException("jwt.signing.active-kid 가 필요합니다 (algorithm=" + mode + ")");
+                }
+                Path dir = Path.of(keyDir);
+                this.activeKeyId = activeKid.trim();
+                this.activePrivateKey = KeyFactory.getInstance(keyAlgorithm)
+                        .generatePrivate(new PKCS8EncodedKeySpec(readPem(dir.resolve(activeKeyId + ".pem"))));
+                PublicKey activePublicKey = loadPublicKey(dir.resolve(activeKeyId + ".pub.pem"), keyAlgorithm);
+                loaded.put(activeKeyId, activePublicKey);
+                loaded.putAll(loadRetiredPublicKeys(dir, keyAlgorithm));
+                log.info("[JwtSigningKeys] {} 서명 키 kid={}, 검증용 공개키 {}개", mode, activeKeyId, loaded.size());
+            }
+        }
+        this.publicKeys = Collections.unmodifiableMap(loaded);
+        this.jwksJson = buildJwks(objectMapper);
+        this.jwksEtag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(jwksJson), 0, 16) + "\"";
+        this.keyLocator = new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return verificationKey(header);
+            }
+        };
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 서명 키와 kid 헤더가 설정된 JWT 빌더 (토큰 발급용)
+     */
+    public JwtBuilder builder() {
+        if (mode == Mode.HS256) {
+            return Jwts.builder().signWith(hmacKey);
+        }
+        return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .signWith(activePrivateKey, signatureAlgorithm);
+    }
+
+    /**
+     * 토큰 헤더(alg, kid)로 검증 키를 찾는 Locator (JwtParser 용)
+     */
+    public Locator<Key> getKeyLocator() {
+        return keyLocator;
+    }
+
+    /**
+     * JWKS 응답 본문 (application/json)
+     */
+    public byte[] getJwksJson() {
+        return jwksJson;
+    }
+
+    public String getJwksEtag() {
+        return jwksEtag;
+    }
+
+    private Key verificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            if (!acceptHmac) {
+                throw new UnsupportedJwtException("HMAC 서명 토큰은 허용되지 않습니다");
+            }
+            return hmacKey;
+        }
+        PublicKey key = header.getKeyId() != null ? publicKeys.get(header.getKeyId()) : null;
+        if (key == null) {
+            throw new UnsupportedJwtException("알 수 없는 서명 키입니다 (kid=" + header.getKeyId() + ")");
+        }
+        return key;
+    }
+
+    private static KeyPair generateKeyPair(String keyAlgorithm) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        if ("EC".equals(keyAlgorithm)) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * 교체 전 키 (개인키 없이 공개키만 남은 {kid}.pub.pem)
+     */
+    private Map<String, PublicKey> loadRetiredPublicKeys(Path dir, String keyAlgorithm) throws IOException, GeneralSecurityException {
+        Map<String, PublicKey> retired = new LinkedHashMap<>();
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(".pub.pem")).sorted().toList();
+        }
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            String kid = fileName.substring(0, fileName.length() - ".pub.pem".length());
+            if (!kid.equals(activeKeyId)) {
+                retired.put(kid, loadPublicKey(file, keyAlgorithm));
+            }
+        }
+        return retired;
+    }
+
+    private static PublicKey loadPublicKey(Path file, String keyAlgorithm) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(readPem(file)));
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        StringBuilder base64 = new StringBuilder();
+        for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+            if (!line.startsWith("-----")) {
+                base64.append(line.trim());
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    private byte[] buildJwks(ObjectMapper objectMapper) throws JsonProcessingException {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        publicKeys.forEach((kid, key) -> keys.add(toJwk(kid, key)));
+        return objectMapper.writeValueAsBytes(Map.of("keys", keys));
+    }
+
+    private Map<String, Object> toJwk(String kid, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        if (key instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", encoder.encodeToString(unsigned(ec.getW().getAffineX(), 32)));
+            jwk.put("y", encoder.encodeToString(unsigned(ec.getW().getAffineY(), 32)));
+        } else if (key instanceof EdECPublicKey) {
+            // X.509 인코딩의 마지막 32바이트가 Ed25519 원본 공개키
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", encoder.encodeToString(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        } else {
+            throw new IllegalStateException("지원하지 않는 공개키 형식입니다: " + key.getAlgorithm());
+        }
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", mode.name());
+        return jwk;
+    }
+
+    /**
+     * BigInteger → 고정 길이 부호 없는 바이트 배열 (JWK 좌표 형식)
+     */
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package site.aiion.api.gateway.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 서명 검증 공용 컴포넌트
+ *
+ * 파서는 한 번만 생성하고 (검증 키는 JwtSigningKeys가 토큰의 alg/kid로 선택), 검증된 토큰의 클레임은 토큰 SHA-256 → 클레임으로 메모리 LRU에 보관합니다.
+ * 캐시 항목은 토큰의 exp 시각까지만 유효하므로 만료된 토큰이 캐시 때문에 통과하지 않습니다. (exp 없는 토큰은 캐시하지 않음)
+ * 같은 토큰으로 여러 번 조회해도(validate + userId + provider 등) 서명 검증은 최대 한 번입니다.
+ *
+ * 조회 결과는 actuator metrics의 jwt.verifier.cache (result=hit|miss) 로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser parser;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CachedClaims> cache;
+
+    public JwtTokenVerifier(
+            JwtSigningKeys jwtSigningKeys,
+            @Value("${jwt.verifier.cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        // JwtParser는 불변이며 스레드 안전
+        this.parser = Jwts.parser().keyLocator(jwtSigningKeys.getKeyLocator()).build();
+        this.meterRegistry = meterRegistry;
+
+        int capacity = Math.max(1, maxEntries);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedClaims>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("jwt.verifier.cache.size", cache, Map::size)
+                .description("검증된 JWT 클레임 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 검증 후 전체 클레임 반환
+     * @param token JWT 토큰 (Bearer 접두사 제거된 순수 토큰)
+     * @throws JwtException 서명 불일치, 만료, 형식 오류
+     * @throws IllegalArgumentException 토큰이 비어 있는 경우
+     */
+    public Claims parse(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT 토큰이 비어 있습니다");
+        }
+        String key = hash(token);
+        CachedClaims cached = cache.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                count("hit");
+                return cached.claims;
+            }
+            cache.remove(key);
+        }
+
+        count("miss");
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() > now) {
+            cache.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * 토큰 검증 (실패하면 empty)
+     */
+    public Optional<Claims> tryParse(String token) {
+        try {
+            return Optional.of(parse(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("[JwtTokenVerifier] JWT 토큰 검증 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("jwt.verifier.cache", "result", result).increment();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
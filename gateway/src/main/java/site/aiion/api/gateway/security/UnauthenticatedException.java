@@ -0,0 +1,11 @@
+package site.aiion.api.gateway.security;
+
+/**
+ * 인증이 필요한 엔드포인트에 인증되지 않은 요청 (AuthenticationExceptionHandler가 code 401 응답으로 변환)
+ */
+public class UnauthenticatedException extends RuntimeException {
+
+    public UnauthenticatedException(String message) {
+        super(message);
+    }
+}
@@ -5,15 +5,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
 import site.aiion.api.services.about.common.domain.Messenger;
-import site.aiion.api.services.diary.util.JwtTokenUtil;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,12 +22,10 @@ import site.aiion.api.services.diary.util.JwtTokenUtil;
 public class AboutController {
 
     private final AboutService aboutService;
-    private final JwtTokenUtil jwtTokenUtil;
 
     @GetMapping("/user")
     @Operation(summary = "자기소개글 조회 (Public)", description = "userId 1의 자기소개글을 조회합니다. 인증 불필요 (게스트 포함 모두 조회 가능).")
-    public Messenger findByUserIdFromToken(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public Messenger findByUserIdFromToken() {
         // 인증 여부와 관계없이 userId 1의 자기소개글을 조회 (Public 엔드포인트)
         // 게스트, 로그인 사용자 모두 조회 가능
         return aboutService.findByUserId(1L);
@@ -37,33 +35,11 @@ public class AboutController {
     @Operation(summary = "자기소개글 저장", description = "새로운 자기소개글을 저장합니다. userId 1만 권한이 있습니다.")
     public Messenger save(
             @RequestBody AboutModel aboutModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰에서 userId 추출 및 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
 
         // userId 1만 자기소개글 작성 권한 있음
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("자기소개글 작성 권한이 없습니다. (userId 1만 가능)")
@@ -78,33 +54,11 @@ public class AboutController {
     @Operation(summary = "자기소개글 수정", description = "기존 자기소개글을 수정합니다. userId 1만 권한이 있습니다.")
     public Messenger update(
             @RequestBody AboutModel aboutModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰에서 userId 추출 및 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
 
         // userId 1만 자기소개글 수정 권한 있음
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("자기소개글 수정 권한이 없습니다. (userId 1만 가능)")
@@ -118,33 +72,11 @@ public class AboutController {
     @DeleteMapping
     @Operation(summary = "자기소개글 삭제", description = "자기소개글을 삭제합니다. userId 1만 권한이 있습니다.")
     public Messenger delete(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰에서 userId 추출 및 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-
-        Long userId = jwtTokenUtil.getUserIdFromToken(token);
-        if (userId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long userId = user.userId();
 
         // userId 1만 자기소개글 삭제 권한 있음
-        if (!userId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("자기소개글 삭제 권한이 없습니다. (userId 1만 가능)")
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "diaries")
+@Table(name = "diaries", indexes = {
+        // 사용자별 키셋 페이지네이션 (user_id, diary_date, id) 정렬용 - 날짜 있는 구간과 diary_date IS NULL 구간을 각각 역방향 스캔
+        @Index(name = "idx_diaries_user_date_id", columnList = "user_id, diary_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,21 +1,27 @@
 package site.aiion.api.services.diary;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
 import site.aiion.api.services.diary.common.domain.Messenger;
-import site.aiion.api.services.diary.util.JwtTokenUtil;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,7 +30,6 @@ import site.aiion.api.services.diary.util.JwtTokenUtil;
 public class DiaryController {
 
     private final DiaryService diaryService;
-    private final JwtTokenUtil jwtTokenUtil;
 
     @PostMapping("/findById")
     @Operation(summary = "일기 ID로 조회 (공개)", description = "일기 ID를 받아 해당 일기 정보를 조회합니다. 인증 없이 모든 사용자가 조회 가능합니다.")
@@ -38,6 +43,17 @@ public class DiaryController {
         return diaryService.findAll();
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "전체 일기 스트리밍 내보내기 (공개)", description = "모든 일기를 감정/MBTI 결과와 함께 스트리밍으로 내보냅니다. format=ndjson이면 한 줄에 한 일기, 기본값(json)은 JSON 배열입니다.")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> diaryService.exportAll(out, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "사용자별 일기 조회 (공개)", description = "특정 사용자의 일기 정보를 조회합니다. 인증 없이 모든 사용자가 조회 가능합니다.")
     public Messenger findByUserId(
@@ -48,21 +64,37 @@ public class DiaryController {
     @GetMapping("/user")
     @Operation(summary = "JWT 토큰 기반 일기 조회 (공개)", description = "JWT 토큰에서 사용자 ID를 추출하여 해당 사용자의 일기 정보를 조회합니다. 토큰이 없어도 전체 일기를 조회할 수 있습니다.")
     public Messenger findByUserIdFromToken(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @CurrentUser(required = false) AuthenticatedUser user) {
         // 토큰이 있으면 해당 사용자의 일기만 조회
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && jwtTokenUtil.validateToken(token)) {
-                Long userId = jwtTokenUtil.getUserIdFromToken(token);
-                if (userId != null) {
-                    return diaryService.findByUserId(userId);
-                }
-            }
+        if (user != null) {
+            return diaryService.findByUserId(user.userId());
         }
         // 토큰이 없으면 전체 일기 조회
         return diaryService.findAll();
     }
 
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "사용자별 일기 페이지 조회 (공개)", description = "특정 사용자의 일기를 날짜 내림차순으로 커서 기반 페이지 조회합니다. 응답의 nextCursor를 cursor로 전달하면 다음 페이지를 조회합니다.")
+    public Messenger findPageByUserId(
+            @org.springframework.web.bind.annotation.PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return diaryService.findPageByUserId(userId, cursor, from, to, size);
+    }
+
+    @GetMapping("/user/page")
+    @Operation(summary = "JWT 토큰 기반 일기 페이지 조회", description = "JWT 토큰에서 사용자 ID를 추출하여 해당 사용자의 일기를 커서 기반으로 페이지 조회합니다.")
+    public Messenger findPageFromToken(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @CurrentUser AuthenticatedUser user) {
+        return diaryService.findPageByUserId(user.userId(), cursor, from, to, size);
+    }
+
     @GetMapping("/check/{userId}")
     @Operation(summary = "사용자별 일기 연결 확인", description = "특정 사용자의 일기 연결 상태를 확인합니다.")
     public Messenger checkUserDiaryConnection(@org.springframework.web.bind.annotation.PathVariable Long userId) {
@@ -73,33 +105,11 @@ public class DiaryController {
     @Operation(summary = "일기 저장", description = "새로운 일기 정보를 저장합니다. userId 1만 권한이 있습니다.")
     public Messenger save(
             @RequestBody DiaryModel diaryModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-        
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-        
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
         
         // userId 1만 권한 허용
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("일기 작성 권한이 없습니다. userId 1만 작성할 수 있습니다.")
@@ -122,33 +132,11 @@ public class DiaryController {
     @Operation(summary = "일기 일괄 저장", description = "여러 일기 정보를 한 번에 저장합니다. userId 1만 권한이 있습니다.")
     public Messenger saveAll(
             @RequestBody List<DiaryModel> diaryModelList,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-        
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-        
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
         
         // userId 1만 권한 허용
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("일기 일괄 저장 권한이 없습니다. userId 1만 저장할 수 있습니다.")
@@ -165,33 +153,11 @@ public class DiaryController {
     @Operation(summary = "일기 수정", description = "기존 일기 정보를 수정합니다. userId 1만 권한이 있습니다.")
     public Messenger update(
             @RequestBody DiaryModel diaryModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-        
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-        
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
         
         // userId 1만 권한 허용
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("일기 수정 권한이 없습니다. userId 1만 수정할 수 있습니다.")
@@ -208,33 +174,11 @@ public class DiaryController {
     @Operation(summary = "일기 삭제", description = "일기 정보를 삭제합니다. userId 1만 권한이 있습니다.")
     public Messenger delete(
             @RequestBody DiaryModel diaryModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-        
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-        
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser user) {
+        Long tokenUserId = user.userId();
         
         // userId 1만 권한 허용
-        if (!tokenUserId.equals(1L)) {
+        if (!user.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("일기 삭제 권한이 없습니다. userId 1만 삭제할 수 있습니다.")
@@ -253,22 +197,16 @@ public class DiaryController {
     }
 
     @PostMapping("/reanalyze-emotions/{userId}")
-    @Operation(summary = "기존 일기 감정 분석 재실행 (수동)", description = "모델 재학습 후 기존 일기들을 새 모델로 재분석합니다. 수동 실행용입니다.")
+    @Operation(summary = "기존 일기 감정 분석 재실행 (수동)", description = "모델 재학습 후 기존 일기들을 새 모델로 재분석하는 백그라운드 작업을 시작합니다. 진행 상황은 /api/diaries/reanalyze-jobs/{jobId}로 확인합니다. 본인 일기만 재분석할 수 있습니다. (userId 1은 전체)")
     public Messenger reanalyzeEmotionsForUser(
             @org.springframework.web.bind.annotation.PathVariable Long userId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증 (선택사항)
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && jwtTokenUtil.validateToken(token)) {
-                Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-                if (tokenUserId != null && !tokenUserId.equals(userId)) {
-                    return Messenger.builder()
-                            .code(403)
-                            .message("권한이 없습니다. 자신의 일기만 재분석할 수 있습니다.")
-                            .build();
-                }
-            }
+            @CurrentUser AuthenticatedUser user) {
+        // 자신의 일기만 재분석 가능 (userId 1은 모든 사용자)
+        if (!user.isAdmin() && !user.userId().equals(userId)) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. 자신의 일기만 재분석할 수 있습니다.")
+                    .build();
         }
         
         System.out.println("[DiaryController] 사용자 ID " + userId + "의 기존 일기 감정 분석 재실행 시작");
@@ -278,9 +216,17 @@ public class DiaryController {
     }
 
     @PostMapping("/reanalyze-all-emotions")
-    @Operation(summary = "모든 일기 감정 분석 (수동)", description = "일기 테이블의 모든 일기를 새 모델로 분석합니다. 수동 실행용입니다.")
+    @Operation(summary = "모든 일기 감정 분석 (수동)", description = "일기 테이블의 모든 일기를 새 모델로 분석하는 백그라운드 작업을 시작합니다. 진행 상황은 /api/diaries/reanalyze-jobs/{jobId}로 확인합니다. userId 1만 권한이 있습니다.")
     public Messenger reanalyzeAllEmotions(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @CurrentUser AuthenticatedUser user) {
+        // 전체 재분석은 userId 1만 권한 허용
+        if (!user.isAdmin()) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. userId 1만 접근할 수 있습니다.")
+                    .build();
+        }
+
         System.out.println("[DiaryController] 모든 일기 감정 분석 시작");
         Messenger result = diaryService.reanalyzeAllEmotions();
         System.out.println("[DiaryController] 전체 감정 분석 결과: " + result.getMessage());
@@ -288,22 +234,16 @@ public class DiaryController {
     }
 
     @PostMapping("/reanalyze-mbti/{userId}")
-    @Operation(summary = "기존 일기 MBTI 분석 재실행 (수동)", description = "모델 재학습 후 기존 일기들을 새 모델로 재분석합니다. 수동 실행용입니다.")
+    @Operation(summary = "기존 일기 MBTI 분석 재실행 (수동)", description = "모델 재학습 후 기존 일기들을 새 모델로 재분석하는 백그라운드 작업을 시작합니다. 진행 상황은 /api/diaries/reanalyze-jobs/{jobId}로 확인합니다. 본인 일기만 재분석할 수 있습니다. (userId 1은 전체)")
     public Messenger reanalyzeMbtiForUser(
             @org.springframework.web.bind.annotation.PathVariable Long userId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증 (선택사항)
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && jwtTokenUtil.validateToken(token)) {
-                Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-                if (tokenUserId != null && !tokenUserId.equals(userId)) {
-                    return Messenger.builder()
-                            .code(403)
-                            .message("권한이 없습니다. 자신의 일기만 재분석할 수 있습니다.")
-                            .build();
-                }
-            }
+            @CurrentUser AuthenticatedUser user) {
+        // 자신의 일기만 재분석 가능 (userId 1은 모든 사용자)
+        if (!user.isAdmin() && !user.userId().equals(userId)) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. 자신의 일기만 재분석할 수 있습니다.")
+                    .build();
         }
         
         System.out.println("[DiaryController] 사용자 ID " + userId + "의 기존 일기 MBTI 분석 재실행 시작");
@@ -313,9 +253,17 @@ public class DiaryController {
     }
 
     @PostMapping("/reanalyze-all-mbti")
-    @Operation(summary = "모든 일기 MBTI 분석 (수동)", description = "일기 테이블의 모든 일기를 새 모델로 분석합니다. 수동 실행용입니다.")
+    @Operation(summary = "모든 일기 MBTI 분석 (수동)", description = "일기 테이블의 모든 일기를 새 모델로 분석하는 백그라운드 작업을 시작합니다. 진행 상황은 /api/diaries/reanalyze-jobs/{jobId}로 확인합니다. userId 1만 권한이 있습니다.")
     public Messenger reanalyzeAllMbti(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @CurrentUser AuthenticatedUser user) {
+        // 전체 재분석은 userId 1만 권한 허용
+        if (!user.isAdmin()) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. userId 1만 접근할 수 있습니다.")
+                    .build();
+        }
+
         System.out.println("[DiaryController] 모든 일기 MBTI 분석 시작");
         Messenger result = diaryService.reanalyzeAllMbti();
         System.out.println("[DiaryController] 전체 MBTI 분석 결과: " + result.getMessage());
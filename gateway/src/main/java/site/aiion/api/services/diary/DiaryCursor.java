@@ -0,0 +1,53 @@
+package site.aiion.api.services.diary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일기 키셋 페이지네이션 커서
+ * (diaryDate, id) 쌍을 Base64 URL-safe 문자열로 인코딩하여 클라이언트에는 불투명한 값으로 전달합니다.
+ * diaryDate가 없는 일기(정렬 시 맨 뒤)는 날짜 자리에 "-"를 씁니다.
+ */
+@Getter
+@AllArgsConstructor
+public class DiaryCursor {
+    private static final String NO_DATE = "-";
+
+    private final LocalDate diaryDate;
+    private final Long id;
+
+    /**
+     * 커서 인코딩 (예: "2025-01-31:42" → "MjAyNS0wMS0zMTo0Mg")
+     */
+    public String encode() {
+        String raw = (diaryDate != null ? diaryDate.toString() : NO_DATE) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 디코딩
+     * @param cursor encode()로 생성된 문자열 (null 또는 빈 문자열이면 첫 페이지)
+     * @return 커서, 첫 페이지면 null
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static DiaryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(':');
+            String date = raw.substring(0, sep);
+            return new DiaryCursor(
+                    NO_DATE.equals(date) ? null : LocalDate.parse(date),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package site.aiion.api.services.diary;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 키셋 페이지네이션 응답
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class DiaryPageModel {
+    private List<DiaryModel> items;
+    /**
+     * 다음 페이지 커서 (마지막 페이지면 null)
+     */
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
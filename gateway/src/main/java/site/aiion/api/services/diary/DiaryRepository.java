@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,5 +14,9 @@ public interface DiaryRepository extends JpaRepository<Diary, Long>, DiaryReposi
     Optional<Diary> findByDiaryDate(LocalDate diaryDate);
     // userId로 직접 조회 (관계 해제)
     List<Diary> findByUserId(Long userId);
+    long countByUserId(Long userId);
+    // id 기준 키셋 청크 조회 (재분석 작업용)
+    List<Diary> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Diary> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
 }
 
@@ -1,6 +1,39 @@
 package site.aiion.api.services.diary;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 public interface DiaryRepositoryCustom {
-    
-}
 
+    /**
+     * 일기 + 감정 분석 + MBTI 분석 결과를 한 번의 조인 쿼리로 조회 (DTO 프로젝션)
+     */
+    Optional<DiaryModel> findModelById(Long id);
+
+    /**
+     * 전체 일기 조회 (감정/MBTI 결과 포함, DTO 프로젝션)
+     */
+    List<DiaryModel> findAllModels();
+
+    /**
+     * id 기준 청크 조회 (스트리밍 내보내기용)
+     * id > afterId 인 일기를 id 오름차순으로 limit개 조회합니다.
+     */
+    List<DiaryModel> findModelsAfterId(Long afterId, int limit);
+
+    /**
+     * 사용자별 일기 조회 (감정/MBTI 결과 포함, DTO 프로젝션)
+     */
+    List<DiaryModel> findModelsByUserId(Long userId);
+
+    /**
+     * 사용자별 일기 키셋 페이지 조회 (감정/MBTI 결과 포함, DTO 프로젝션)
+     * (diary_date DESC NULLS LAST, id DESC) 순서로 cursor 다음 항목부터 limit개를 조회합니다. (날짜 없는 일기는 맨 뒤)
+     * 날짜 있는 일기와 날짜 없는 일기를 나눠 각각 인덱스 순서로 조회한 뒤 이어 붙입니다.
+     * @param from 시작일 (포함, null이면 제한 없음)
+     * @param to 종료일 (포함, null이면 제한 없음)
+     * @param cursor 이전 페이지의 마지막 항목 (null이면 첫 페이지)
+     */
+    List<DiaryModel> findPageByUserId(Long userId, LocalDate from, LocalDate to, DiaryCursor cursor, int limit);
+}
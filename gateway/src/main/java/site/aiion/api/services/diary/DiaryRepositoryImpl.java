@@ -1,10 +1,138 @@
 package site.aiion.api.services.diary;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.services.diary.emotion.QDiaryEmotion;
+import site.aiion.api.services.diary.mbti.QDiaryMbti;
 
 @RequiredArgsConstructor
 public class DiaryRepositoryImpl implements DiaryRepositoryCustom {
     private final JPAQueryFactory queryFactory;
-}
 
+    private static final QDiary diary = QDiary.diary;
+    private static final QDiaryEmotion diaryEmotion = QDiaryEmotion.diaryEmotion;
+    private static final QDiaryMbti diaryMbti = QDiaryMbti.diaryMbti;
+
+    /**
+     * diaries ⟕ diary_emotions ⟕ diary_mbti (diary_id 기준) 조인 후 DiaryModel로 바로 매핑
+     * 영속성 컨텍스트에 엔티티를 올리지 않으므로 dirty checking/스냅샷 비용이 없습니다.
+     */
+    private JPAQuery<DiaryModel> selectModel() {
+        return queryFactory
+                .select(Projections.fields(DiaryModel.class,
+                        diary.id,
+                        diary.diaryDate,
+                        diary.title,
+                        diary.content,
+                        diary.userId,
+                        diaryEmotion.emotion,
+                        diaryEmotion.emotionLabel,
+                        diaryEmotion.confidence.as("emotionConfidence"),
+                        diaryEmotion.probabilities.as("emotionProbabilities"),
+                        diaryMbti.mbtiType,
+                        diaryMbti.confidence.as("mbtiConfidence"),
+                        diaryMbti.dimensionPercentages.as("mbtiDimensionPercentages")))
+                .from(diary)
+                .leftJoin(diaryEmotion).on(diaryEmotion.diaryId.eq(diary.id))
+                .leftJoin(diaryMbti).on(diaryMbti.diaryId.eq(diary.id));
+    }
+
+    @Override
+    public Optional<DiaryModel> findModelById(Long id) {
+        return Optional.ofNullable(selectModel()
+                .where(diary.id.eq(id))
+                .fetchOne());
+    }
+
+    @Override
+    public List<DiaryModel> findAllModels() {
+        return selectModel()
+                .orderBy(diary.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<DiaryModel> findModelsAfterId(Long afterId, int limit) {
+        return selectModel()
+                .where(diary.id.gt(afterId))
+                .orderBy(diary.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<DiaryModel> findModelsByUserId(Long userId) {
+        return selectModel()
+                .where(diary.userId.eq(userId))
+                .orderBy(diary.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<DiaryModel> findPageByUserId(Long userId, LocalDate from, LocalDate to, DiaryCursor cursor, int limit) {
+        // 날짜 있는 일기 → 날짜 없는 일기 순서로 두 단계 조회
+        // 한 쿼리에서 NULLS LAST로 정렬하면 (user_id, diary_date, id) 인덱스의 역방향 순서(NULLS FIRST)와 달라
+        // 매 페이지마다 사용자의 일기 전체를 읽어 정렬하므로, 각 단계를 인덱스 순서 그대로 읽습니다.
+        List<DiaryModel> page = new ArrayList<>();
+        boolean inUndatedTail = cursor != null && cursor.getDiaryDate() == null;
+        if (!inUndatedTail) {
+            page.addAll(findDatedPage(userId, from, to, cursor, limit));
+        }
+        // 기간 조건이 없으면 diary_date가 없는 일기도 포함 (맨 뒤)
+        if (page.size() < limit && from == null && to == null) {
+            page.addAll(findUndatedPage(userId, inUndatedTail ? cursor.getId() : null, limit - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * 날짜 있는 일기 (diary_date DESC, id DESC) - 인덱스 역방향 스캔
+     */
+    private List<DiaryModel> findDatedPage(Long userId, LocalDate from, LocalDate to, DiaryCursor cursor, int limit) {
+        BooleanBuilder where = new BooleanBuilder(diary.userId.eq(userId))
+                .and(diary.diaryDate.isNotNull());
+        if (from != null) {
+            where.and(diary.diaryDate.goe(from));
+        }
+        if (to != null) {
+            where.and(diary.diaryDate.loe(to));
+        }
+        // 키셋 조건: (diary_date, id) < (커서 날짜, 커서 id) - diary_date <= 커서 날짜는 인덱스 범위 조건으로 사용됨
+        if (cursor != null) {
+            where.and(diary.diaryDate.loe(cursor.getDiaryDate()))
+                    .and(diary.diaryDate.lt(cursor.getDiaryDate()).or(diary.id.lt(cursor.getId())));
+        }
+
+        return selectModel()
+                .where(where)
+                .orderBy(diary.diaryDate.desc(), diary.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 날짜 없는 일기 (id DESC) - 인덱스의 diary_date IS NULL 구간 역방향 스캔
+     * @param beforeId 이전 페이지의 마지막 id (null이면 처음부터)
+     */
+    private List<DiaryModel> findUndatedPage(Long userId, Long beforeId, int limit) {
+        BooleanBuilder where = new BooleanBuilder(diary.userId.eq(userId))
+                .and(diary.diaryDate.isNull());
+        if (beforeId != null) {
+            where.and(diary.id.lt(beforeId));
+        }
+
+        return selectModel()
+                .where(where)
+                .orderBy(diary.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+}
@@ -1,5 +1,8 @@
 package site.aiion.api.services.diary;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import site.aiion.api.services.diary.common.domain.Messenger;
 
@@ -7,6 +10,20 @@ public interface DiaryService {
     public Messenger findById(DiaryModel diaryModel);
     public Messenger findAll();
     public Messenger findByUserId(Long userId);
+    /**
+     * 사용자별 일기 키셋 페이지 조회 (diaryDate, id 내림차순, 날짜 없는 일기는 맨 뒤)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param from 시작일 (선택)
+     * @param to 종료일 (선택)
+     * @param size 페이지 크기
+     */
+    public Messenger findPageByUserId(Long userId, String cursor, LocalDate from, LocalDate to, int size);
+    /**
+     * 전체 일기 스트리밍 내보내기
+     * 전체 목록을 메모리에 올리지 않고 청크 단위로 조회하여 바로 출력 스트림에 기록합니다.
+     * @param ndjson true면 NDJSON(한 줄에 한 일기), false면 JSON 배열
+     */
+    public void exportAll(OutputStream out, boolean ndjson) throws IOException;
     public Messenger save(DiaryModel diaryModel);
     public Messenger saveAll(List<DiaryModel> diaryModelList);
     public Messenger update(DiaryModel diaryModel);
@@ -14,6 +31,7 @@ public interface DiaryService {
     /**
      * 기존 일기 일괄 재분석 (수동 실행용)
      * 모델 재학습 후 기존 일기들을 새 모델로 재분석
+     * 백그라운드 재분석 작업(DiaryReanalysisEngine)을 시작하고 작업 정보를 바로 반환합니다.
      */
     public Messenger reanalyzeEmotionsForUser(Long userId);
     
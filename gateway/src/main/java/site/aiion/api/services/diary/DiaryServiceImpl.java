@@ -1,8 +1,14 @@
 package site.aiion.api.services.diary;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.springframework.dao.DataIntegrityViolationException;
@@ -10,9 +16,16 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.services.diary.analysis.DiaryReanalysisEngine;
+import site.aiion.api.services.diary.analysis.DiaryReanalysisKind;
 import site.aiion.api.services.diary.common.domain.Messenger;
+import site.aiion.api.services.diary.inference.AnalysisText;
 
 @Slf4j
 @Service
@@ -23,7 +36,17 @@ public class DiaryServiceImpl implements DiaryService {
     private final DiaryRepository diaryRepository;
     private final site.aiion.api.services.diary.emotion.DiaryEmotionService diaryEmotionService;
     private final site.aiion.api.services.diary.mbti.DiaryMbtiService diaryMbtiService;
+    private final site.aiion.api.services.diary.analysis.DiaryAnalysisJobService diaryAnalysisJobService;
+    private final DiaryReanalysisEngine diaryReanalysisEngine;
     private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // 스트리밍 내보내기 시 한 번에 조회/출력하는 일기 수
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // 일괄 분석 시 한 번에 제출하는 추론 요청 수 (배치 클라이언트가 max-size 단위로 묶어 전송)
+    private static final int ANALYSIS_WINDOW_SIZE = 64;
 
     private DiaryModel entityToModel(Diary entity) {
         // 감정 분석 결과 조회
@@ -94,6 +117,7 @@ public class DiaryServiceImpl implements DiaryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger findById(DiaryModel diaryModel) {
         if (diaryModel.getId() == null) {
             return Messenger.builder()
@@ -101,24 +125,13 @@ public class DiaryServiceImpl implements DiaryService {
                     .message("ID가 필요합니다.")
                     .build();
         }
-        Optional<Diary> entity = diaryRepository.findById(diaryModel.getId());
-        if (entity.isPresent()) {
-            Diary diary = entity.get();
-            // 일괄 조회 방식 사용 (N+1 문제 해결)
-            List<Long> diaryIds = List.of(diary.getId());
-            Map<Long, site.aiion.api.services.diary.emotion.DiaryEmotionModel> emotionMap = 
-                diaryEmotionService.findByDiaryIdIn(diaryIds);
-            Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> mbtiMap = Map.of();
-            try {
-                mbtiMap = diaryMbtiService.findByDiaryIdIn(diaryIds);
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " MBTI 조회 실패: " + e.getMessage());
-            }
-            DiaryModel model = entityToModel(diary, emotionMap, mbtiMap);
+        // 일기 + 감정 + MBTI 결과를 단일 조인 쿼리로 조회
+        Optional<DiaryModel> model = diaryRepository.findModelById(diaryModel.getId());
+        if (model.isPresent()) {
             return Messenger.builder()
                     .code(200)
                     .message("조회 성공")
-                    .data(model)
+                    .data(model.get())
                     .build();
         } else {
             return Messenger.builder()
@@ -129,27 +142,10 @@ public class DiaryServiceImpl implements DiaryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger findAll() {
-        List<Diary> entities = diaryRepository.findAll();
-        
-        // 일괄 조회로 N+1 문제 해결
-        List<Long> diaryIds = entities.stream()
-                .map(Diary::getId)
-                .collect(Collectors.toList());
-        Map<Long, site.aiion.api.services.diary.emotion.DiaryEmotionModel> emotionMap = 
-            diaryEmotionService.findByDiaryIdIn(diaryIds);
-        Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> mbtiMap;
-        try {
-            mbtiMap = diaryMbtiService.findByDiaryIdIn(diaryIds);
-        } catch (Exception e) {
-            System.err.println("[DiaryServiceImpl] 전체 조회 시 MBTI 일괄 조회 실패: " + e.getMessage());
-            mbtiMap = Map.of();
-        }
-        final Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> finalMbtiMap = mbtiMap;
-        
-        List<DiaryModel> modelList = entities.stream()
-                .map(entity -> entityToModel(entity, emotionMap, finalMbtiMap))
-                .collect(Collectors.toList());
+        // 일기 + 감정 + MBTI 결과를 단일 조인 쿼리로 조회
+        List<DiaryModel> modelList = diaryRepository.findAllModels();
         return Messenger.builder()
                 .code(200)
                 .message("전체 조회 성공: " + modelList.size() + "개")
@@ -158,6 +154,7 @@ public class DiaryServiceImpl implements DiaryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Messenger findByUserId(Long userId) {
         if (userId == null) {
             return Messenger.builder()
@@ -165,29 +162,8 @@ public class DiaryServiceImpl implements DiaryService {
                     .message("사용자 ID가 필요합니다.")
                     .build();
         }
-        List<Diary> entities = diaryRepository.findByUserId(userId);
-        
-        // 일괄 조회로 N+1 문제 해결
-        List<Long> diaryIds = entities.stream()
-                .map(Diary::getId)
-                .collect(Collectors.toList());
-        
-        Map<Long, site.aiion.api.services.diary.emotion.DiaryEmotionModel> emotionMap = 
-            diaryEmotionService.findByDiaryIdIn(diaryIds);
-        Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> mbtiMap;
-        try {
-            mbtiMap = diaryMbtiService.findByDiaryIdIn(diaryIds);
-        } catch (Exception e) {
-            System.err.println("[DiaryServiceImpl] MBTI 일괄 조회 실패: " + e.getMessage());
-            mbtiMap = Map.of();
-        }
-        final Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> finalMbtiMap = mbtiMap;
-        
-        // 감정 분석 및 MBTI 분석 결과를 포함하여 모델 변환
-        List<DiaryModel> modelList = entities.stream()
-                .map(entity -> entityToModel(entity, emotionMap, finalMbtiMap))
-                .collect(Collectors.toList());
-        
+        // 일기 + 감정 + MBTI 결과를 단일 조인 쿼리로 조회
+        List<DiaryModel> modelList = diaryRepository.findModelsByUserId(userId);
         return Messenger.builder()
                 .code(200)
                 .message("사용자별 조회 성공: " + modelList.size() + "개")
@@ -195,6 +171,98 @@ public class DiaryServiceImpl implements DiaryService {
                 .build();
     }
 
+    @Override
+    public void exportAll(OutputStream out, boolean ndjson) throws IOException {
+        // 트랜잭션 없이 청크마다 짧게 커넥션을 사용 (Hikari 풀 점유 최소화)
+        // DTO 프로젝션이므로 영속성 컨텍스트에 엔티티가 쌓이지 않아 힙 사용량이 일정합니다.
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (ndjson) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        } else {
+            generator.writeStartArray();
+        }
+
+        long lastId = 0L;
+        long count = 0;
+        while (true) {
+            List<DiaryModel> chunk = diaryRepository.findModelsAfterId(lastId, EXPORT_CHUNK_SIZE);
+            for (DiaryModel model : chunk) {
+                generator.writeObject(model);
+            }
+            generator.flush();
+            count += chunk.size();
+            if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+
+        if (ndjson) {
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        } else {
+            generator.writeEndArray();
+        }
+        generator.close();
+        log.info("[DiaryServiceImpl] 일기 내보내기 완료: {}개 ({})", count, ndjson ? "ndjson" : "json");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findPageByUserId(Long userId, String cursor, LocalDate from, LocalDate to, int size) {
+        if (userId == null) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("사용자 ID가 필요합니다.")
+                    .build();
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("시작일은 종료일보다 늦을 수 없습니다.")
+                    .build();
+        }
+
+        DiaryCursor decodedCursor;
+        try {
+            decodedCursor = DiaryCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("잘못된 커서입니다.")
+                    .build();
+        }
+
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        List<DiaryModel> modelList = diaryRepository.findPageByUserId(userId, from, to, decodedCursor, pageSize + 1);
+        boolean hasNext = modelList.size() > pageSize;
+        if (hasNext) {
+            modelList = modelList.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            DiaryModel last = modelList.get(modelList.size() - 1);
+            nextCursor = new DiaryCursor(last.getDiaryDate(), last.getId()).encode();
+        }
+
+        DiaryPageModel page = DiaryPageModel.builder()
+                .items(modelList)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(modelList.size())
+                .build();
+        return Messenger.builder()
+                .code(200)
+                .message("사용자별 페이지 조회 성공: " + modelList.size() + "개")
+                .data(page)
+                .build();
+    }
+
     @Override
     @Transactional
     public Messenger save(DiaryModel diaryModel) {
@@ -248,29 +316,14 @@ public class DiaryServiceImpl implements DiaryService {
             }
         }
 
-        // 감정 분석 파이프라인 실행 (비동기)
-        log.info("[DiaryServiceImpl] 일기 ID {} 저장 완료. 감정 분석 시작 (비동기)...", saved.getId());
-        diaryEmotionService.analyzeAndSaveAsync(saved.getId(), saved.getTitle(), saved.getContent());
-        
-        // MBTI 분석 파이프라인 실행 (비동기)
-        log.info("[DiaryServiceImpl] 일기 ID {} MBTI 분석 시작 (비동기)...", saved.getId());
-        diaryMbtiService.analyzeAndSaveAsync(saved.getId(), saved.getTitle(), saved.getContent());
-
-        // 일괄 조회 방식 사용 (N+1 문제 해결)
-        List<Long> diaryIds = List.of(saved.getId());
-        Map<Long, site.aiion.api.services.diary.emotion.DiaryEmotionModel> emotionMap =
-            diaryEmotionService.findByDiaryIdIn(diaryIds);
-        
-        // MBTI 조회는 예외가 발생해도 일기 저장은 성공으로 처리
-        Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> mbtiMap = Map.of();
-        try {
-            mbtiMap = diaryMbtiService.findByDiaryIdIn(diaryIds);
-        } catch (Exception e) {
-            System.err.println("[DiaryServiceImpl] 일기 ID " + saved.getId() + " MBTI 조회 실패: " + e.getMessage());
-            // MBTI 조회 실패해도 일기 저장은 성공으로 처리
-        }
-        
-        DiaryModel model = entityToModel(saved, emotionMap, mbtiMap);
+        // 감정 + MBTI 분석 작업 등록 (같은 트랜잭션으로 커밋되어 재시작 시에도 유실되지 않음)
+        log.info("[DiaryServiceImpl] 일기 ID {} 저장 완료. 감정/MBTI 분석 작업 등록", saved.getId());
+        diaryAnalysisJobService.enqueue(saved.getId());
+
+        // 일기 + 감정 + MBTI 결과를 단일 조인 쿼리로 조회
+        final Diary persisted = saved;
+        DiaryModel model = diaryRepository.findModelById(persisted.getId())
+                .orElseGet(() -> entityToModel(persisted, Map.of(), Map.of()));
         return Messenger.builder()
                 .code(200)
                 .message("저장 성공: " + saved.getId())
@@ -305,34 +358,14 @@ public class DiaryServiceImpl implements DiaryService {
         
         List<Diary> saved = diaryRepository.saveAll(entities);
         
-        // 일괄 저장된 일기들에 대해 감정 분석 및 MBTI 분석 수행 (비동기로 처리)
-        for (Diary diary : saved) {
-            // 감정 분석
-            try {
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryEmotionService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() != 200) {
-                    System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " 감정 분석 실패: " + result.getMessage());
-                }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " 감정 분석 실패: " + e.getMessage());
-            }
-            
-            // MBTI 분석
-            try {
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryMbtiService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() != 200) {
-                    System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " MBTI 분석 실패: " + result.getMessage());
-                }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " MBTI 분석 실패: " + e.getMessage());
-            }
-        }
+        // 일괄 저장된 일기들에 대해 감정 분석 및 MBTI 분석 수행 (마이크로 배치로 묶어 요청)
+        int[] emotion = analyzeInWindows(saved, "감정", diaryEmotionService::submitAnalysis, diaryEmotionService::saveAnalysisResult);
+        int[] mbti = analyzeInWindows(saved, "MBTI", diaryMbtiService::submitAnalysis, diaryMbtiService::saveAnalysisResult);
         
         return Messenger.builder()
                 .code(200)
-                .message("일괄 저장 성공: " + saved.size() + "개")
+                .message("일괄 저장 성공: " + saved.size() + "개 (감정 분석 성공 " + emotion[0] + ", 실패 " + emotion[1]
+                        + " / MBTI 분석 성공 " + mbti[0] + ", 실패 " + mbti[1] + ")")
                 .build();
     }
 
@@ -371,27 +404,23 @@ public class DiaryServiceImpl implements DiaryService {
                     .userId(existing.getUserId()) // userId는 변경 불가
                     .build();
             
-            Diary saved = diaryRepository.save(updated);
-            
-            // 일기 수정 시 감정 분석 재실행 (비동기)
-            log.info("[DiaryServiceImpl] 일기 ID {} 감정 분석 시작 (비동기)", saved.getId());
-            diaryEmotionService.analyzeAndSaveAsync(saved.getId(), saved.getTitle(), saved.getContent());
+            // 분석 텍스트(제목 + 내용)가 바뀌었는지 확인 (저장 전 기존 값 기준)
+            boolean textChanged = !AnalysisText.of(existing.getTitle(), existing.getContent())
+                    .equals(AnalysisText.of(updated.getTitle(), updated.getContent()));
             
-            // 일기 수정 시 MBTI 분석 재실행 (비동기)
-            log.info("[DiaryServiceImpl] 일기 ID {} MBTI 분석 시작 (비동기)", saved.getId());
-            diaryMbtiService.analyzeAndSaveAsync(saved.getId(), saved.getTitle(), saved.getContent());
+            Diary saved = diaryRepository.save(updated);
             
-            // 일괄 조회 방식 사용 (N+1 문제 해결)
-            List<Long> diaryIds = List.of(saved.getId());
-            Map<Long, site.aiion.api.services.diary.emotion.DiaryEmotionModel> emotionMap = 
-                diaryEmotionService.findByDiaryIdIn(diaryIds);
-            Map<Long, site.aiion.api.services.diary.mbti.DiaryMbtiModel> mbtiMap = Map.of();
-            try {
-                mbtiMap = diaryMbtiService.findByDiaryIdIn(diaryIds);
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + saved.getId() + " MBTI 조회 실패 (수정): " + e.getMessage());
+            // 일기 수정 시 감정/MBTI 분석 재실행 (작업 큐) - 날짜만 바뀐 경우 등 텍스트가 같으면 건너뜀
+            if (textChanged) {
+                log.info("[DiaryServiceImpl] 일기 ID {} 감정/MBTI 분석 작업 등록", saved.getId());
+                diaryAnalysisJobService.enqueue(saved.getId());
+            } else {
+                log.info("[DiaryServiceImpl] 일기 ID {} 제목/내용 변경 없음, 감정/MBTI 분석 생략", saved.getId());
             }
-            DiaryModel model = entityToModel(saved, emotionMap, mbtiMap);
+            
+            // 일기 + 감정 + MBTI 결과를 단일 조인 쿼리로 조회
+            DiaryModel model = diaryRepository.findModelById(saved.getId())
+                    .orElseGet(() -> entityToModel(saved, Map.of(), Map.of()));
             return Messenger.builder()
                     .code(200)
                     .message("수정 성공: " + diaryModel.getId())
@@ -486,7 +515,6 @@ public class DiaryServiceImpl implements DiaryService {
     }
 
     @Override
-    @Transactional
     public Messenger reanalyzeEmotionsForUser(Long userId) {
         if (userId == null) {
             return Messenger.builder()
@@ -494,88 +522,16 @@ public class DiaryServiceImpl implements DiaryService {
                     .message("사용자 ID가 필요합니다.")
                     .build();
         }
-        
-        // 해당 사용자의 모든 일기 조회
-        List<Diary> diaries = diaryRepository.findByUserId(userId);
-        
-        if (diaries.isEmpty()) {
-            return Messenger.builder()
-                    .code(200)
-                    .message("재분석할 일기가 없습니다.")
-                    .data(0)
-                    .build();
-        }
-        
-        int successCount = 0;
-        int failCount = 0;
-        
-        // 각 일기에 대해 감정 분석 재수행 (기존 결과 업데이트)
-        for (Diary diary : diaries) {
-            try {
-                // 감정 분석 수행 (기존 결과가 있으면 자동으로 업데이트됨)
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryEmotionService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() == 200) {
-                    successCount++;
-                } else {
-                    failCount++;
-                }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " 감정 분석 재실행 실패: " + e.getMessage());
-                failCount++;
-            }
-        }
-        
-        return Messenger.builder()
-                .code(200)
-                .message("감정 분석 재실행 완료: 성공 " + successCount + "개, 실패 " + failCount + "개")
-                .data(Map.of("success", successCount, "fail", failCount, "total", diaries.size()))
-                .build();
+        // 백그라운드 재분석 작업으로 실행 (청크 단위 커밋, 진행 상황은 작업 상태 조회로 확인)
+        return diaryReanalysisEngine.start(DiaryReanalysisKind.EMOTION, userId);
     }
 
     @Override
-    @Transactional
     public Messenger reanalyzeAllEmotions() {
-        // 모든 일기 조회
-        List<Diary> allDiaries = diaryRepository.findAll();
-        
-        if (allDiaries.isEmpty()) {
-            return Messenger.builder()
-                    .code(200)
-                    .message("분석할 일기가 없습니다.")
-                    .data(0)
-                    .build();
-        }
-        
-        int successCount = 0;
-        int failCount = 0;
-        
-        // 각 일기에 대해 감정 분석 수행
-        for (Diary diary : allDiaries) {
-            try {
-                // 감정 분석 수행 (기존 결과가 있으면 자동으로 업데이트됨)
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryEmotionService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() == 200) {
-                    successCount++;
-                } else {
-                    failCount++;
-                }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " 감정 분석 실패: " + e.getMessage());
-                failCount++;
-            }
-        }
-        
-        return Messenger.builder()
-                .code(200)
-                .message("전체 일기 감정 분석 완료: 성공 " + successCount + "개, 실패 " + failCount + "개")
-                .data(Map.of("success", successCount, "fail", failCount, "total", allDiaries.size()))
-                .build();
+        return diaryReanalysisEngine.start(DiaryReanalysisKind.EMOTION, null);
     }
 
     @Override
-    @Transactional
     public Messenger reanalyzeMbtiForUser(Long userId) {
         if (userId == null) {
             return Messenger.builder()
@@ -583,85 +539,61 @@ public class DiaryServiceImpl implements DiaryService {
                     .message("사용자 ID가 필요합니다.")
                     .build();
         }
-        
-        // 해당 사용자의 모든 일기 조회
-        List<Diary> diaries = diaryRepository.findByUserId(userId);
-        
-        if (diaries.isEmpty()) {
-            return Messenger.builder()
-                    .code(200)
-                    .message("재분석할 일기가 없습니다.")
-                    .data(0)
-                    .build();
-        }
-        
-        int successCount = 0;
-        int failCount = 0;
-        
-        // 각 일기에 대해 MBTI 분석 재수행 (기존 결과 업데이트)
-        for (Diary diary : diaries) {
-            try {
-                // MBTI 분석 수행 (기존 결과가 있으면 자동으로 업데이트됨)
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryMbtiService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() == 200) {
-                    successCount++;
-                } else {
-                    failCount++;
-                }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " MBTI 분석 재실행 실패: " + e.getMessage());
-                failCount++;
-            }
-        }
-        
-        return Messenger.builder()
-                .code(200)
-                .message("MBTI 분석 재실행 완료: 성공 " + successCount + "개, 실패 " + failCount + "개")
-                .data(Map.of("success", successCount, "fail", failCount, "total", diaries.size()))
-                .build();
+        return diaryReanalysisEngine.start(DiaryReanalysisKind.MBTI, userId);
     }
 
     @Override
-    @Transactional
     public Messenger reanalyzeAllMbti() {
-        // 모든 일기 조회
-        List<Diary> allDiaries = diaryRepository.findAll();
-        
-        if (allDiaries.isEmpty()) {
-            return Messenger.builder()
-                    .code(200)
-                    .message("분석할 일기가 없습니다.")
-                    .data(0)
-                    .build();
-        }
-        
+        return diaryReanalysisEngine.start(DiaryReanalysisKind.MBTI, null);
+    }
+
+    /**
+     * 일기 목록을 윈도우 단위로 추론 요청에 제출한 뒤 결과를 순서대로 저장
+     * 한 윈도우의 요청이 동시에 대기하므로 배치 클라이언트가 이를 묶어 전송할 수 있습니다.
+     * @return {성공 수, 실패 수}
+     */
+    private int[] analyzeInWindows(List<Diary> diaries, String kind,
+            BiFunction<String, String, CompletableFuture<Map<String, Object>>> submitter,
+            BiFunction<Long, Map<String, Object>, Messenger> saver) {
         int successCount = 0;
         int failCount = 0;
         
-        // 각 일기에 대해 MBTI 분석 수행
-        for (Diary diary : allDiaries) {
-            try {
-                // MBTI 분석 수행 (기존 결과가 있으면 자동으로 업데이트됨)
-                site.aiion.api.services.diary.common.domain.Messenger result = 
-                    diaryMbtiService.analyzeAndSave(diary.getId(), diary.getTitle(), diary.getContent());
-                if (result.getCode() == 200) {
-                    successCount++;
-                } else {
+        for (int from = 0; from < diaries.size(); from += ANALYSIS_WINDOW_SIZE) {
+            List<Diary> window = diaries.subList(from, Math.min(from + ANALYSIS_WINDOW_SIZE, diaries.size()));
+            
+            List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(window.size());
+            for (Diary diary : window) {
+                // 텍스트가 비어있는 일기는 요청하지 않음 (분석 실패로 집계)
+                futures.add(AnalysisText.of(diary.getTitle(), diary.getContent()).isEmpty()
+                        ? null
+                        : submitter.apply(diary.getTitle(), diary.getContent()));
+            }
+            
+            for (int i = 0; i < window.size(); i++) {
+                Diary diary = window.get(i);
+                CompletableFuture<Map<String, Object>> future = futures.get(i);
+                if (future == null) {
+                    System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " " + kind + " 분석 건너뜀: 일기 내용이 비어있습니다.");
+                    failCount++;
+                    continue;
+                }
+                try {
+                    Messenger result = saver.apply(diary.getId(), future.join());
+                    if (result.getCode() == 200) {
+                        successCount++;
+                    } else {
+                        System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " " + kind + " 분석 실패: " + result.getMessage());
+                        failCount++;
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " " + kind + " 분석 실패: " + cause.getMessage());
                     failCount++;
                 }
-            } catch (Exception e) {
-                System.err.println("[DiaryServiceImpl] 일기 ID " + diary.getId() + " MBTI 분석 실패: " + e.getMessage());
-                failCount++;
             }
         }
         
-        return Messenger.builder()
-                .code(200)
-                .message("전체 일기 MBTI 분석 완료: 성공 " + successCount + "개, 실패 " + failCount + "개")
-                .data(Map.of("success", successCount, "fail", failCount, "total", allDiaries.size()))
-                .build();
+        return new int[] { successCount, failCount };
     }
 
 }
-
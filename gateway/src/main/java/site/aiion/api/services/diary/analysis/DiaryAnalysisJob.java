@@ -0,0 +1,83 @@
+package site.aiion.api.services.diary.analysis;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 일기 감정/MBTI 분석 작업 (영속 작업 큐)
+ * 일기 저장과 같은 트랜잭션에서 생성되므로 재시작 후에도 유실되지 않습니다.
+ */
+@Entity
+@Table(name = "diary_analysis_jobs",
+       indexes = {
+           @Index(name = "idx_diary_analysis_jobs_status_next_run", columnList = "status, next_run_at"),
+           @Index(name = "idx_diary_analysis_jobs_diary_id", columnList = "diary_id")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryAnalysisJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "diary_id", nullable = false)
+    private Long diaryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private DiaryAnalysisJobStatus status = DiaryAnalysisJobStatus.PENDING;
+
+    /**
+     * 실행 시도 횟수 (워커가 작업을 점유할 때 증가)
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * 다음 실행 가능 시각 (재시도 시 백오프 적용)
+     */
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    /**
+     * 워커 점유 만료 시각 (이 시각이 지나도록 RUNNING이면 다른 워커가 다시 가져감)
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextRunAt == null) {
+            nextRunAt = now;
+        }
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
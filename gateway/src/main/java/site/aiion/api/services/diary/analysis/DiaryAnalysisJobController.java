@@ -0,0 +1,58 @@
+package site.aiion.api.services.diary.analysis;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/diary-analysis/jobs")
+@Tag(name = "Diary Analysis Jobs", description = "일기 분석 작업 큐 관리 (관리자)")
+public class DiaryAnalysisJobController {
+
+    private final DiaryAnalysisJobService diaryAnalysisJobService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "분석 작업 큐 상태 조회", description = "대기/실행/DEAD 작업 수와 가장 오래된 대기 작업을 조회합니다. userId 1만 권한이 있습니다.")
+    public Messenger getStats(
+            @CurrentUser AuthenticatedUser user) {
+        Messenger denied = checkAdmin(user);
+        if (denied != null) {
+            return denied;
+        }
+        return diaryAnalysisJobService.getStats();
+    }
+
+    @PostMapping("/retry-dead")
+    @Operation(summary = "DEAD 작업 재시도", description = "최대 재시도 횟수를 초과한 분석 작업을 다시 대기 상태로 전환합니다. userId 1만 권한이 있습니다.")
+    public Messenger retryDeadJobs(
+            @CurrentUser AuthenticatedUser user) {
+        Messenger denied = checkAdmin(user);
+        if (denied != null) {
+            return denied;
+        }
+        return diaryAnalysisJobService.retryDeadJobs();
+    }
+
+    /**
+     * 관리자(userId 1) 권한 확인
+     * @return 권한이 없으면 오류 응답, 있으면 null
+     */
+    private Messenger checkAdmin(AuthenticatedUser user) {
+        if (!user.isAdmin()) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. userId 1만 접근할 수 있습니다.")
+                    .build();
+        }
+        return null;
+    }
+}
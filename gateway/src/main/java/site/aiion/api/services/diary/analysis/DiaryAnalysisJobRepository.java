@@ -0,0 +1,85 @@
+package site.aiion.api.services.diary.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DiaryAnalysisJobRepository extends JpaRepository<DiaryAnalysisJob, Long> {
+    /**
+     * 실행 가능한 작업을 잠그고 조회 (다른 워커가 잠근 행은 건너뜀)
+     * 대기 중이면서 실행 시각이 지난 작업, 또는 점유 만료된 RUNNING 작업(워커 비정상 종료)이 대상
+     * 같은 일기의 다른 작업이 점유 중이면 건너뜀 (같은 일기를 두 워커가 동시에 분석하면 늦게 끝난 쪽이
+     * 이전 내용의 결과로 덮어쓸 수 있음 - 점유 중인 작업이 끝난 뒤 최신 내용으로 실행됨)
+     * 반드시 트랜잭션 안에서 호출해야 하며, 커밋 시 잠금이 해제됩니다.
+     */
+    @Query(value = "SELECT * FROM diary_analysis_jobs j "
+            + "WHERE ((j.status = 'PENDING' AND j.next_run_at <= :now) "
+            + "    OR (j.status = 'RUNNING' AND j.locked_until < :now)) "
+            + "  AND NOT EXISTS (SELECT 1 FROM diary_analysis_jobs r "
+            + "                  WHERE r.diary_id = j.diary_id AND r.id <> j.id "
+            + "                    AND r.status = 'RUNNING' AND r.locked_until >= :now) "
+            + "ORDER BY j.next_run_at "
+            + "LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DiaryAnalysisJob> lockRunnableJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 같은 일기의 대기 중인 작업이 있는지 확인 (워커는 실행 시점의 최신 일기 내용을 분석하므로 중복 등록 불필요)
+     */
+    boolean existsByDiaryIdAndStatus(Long diaryId, DiaryAnalysisJobStatus status);
+
+    long countByStatus(DiaryAnalysisJobStatus status);
+
+    /**
+     * 가장 오래 대기 중인 작업 (큐 지연 확인용)
+     */
+    Optional<DiaryAnalysisJob> findFirstByStatusOrderByCreatedAtAsc(DiaryAnalysisJobStatus status);
+
+    /**
+     * 최근 실패(DEAD) 작업 목록 (관리자 확인용)
+     */
+    List<DiaryAnalysisJob> findTop20ByStatusOrderByUpdatedAtDesc(DiaryAnalysisJobStatus status);
+
+    /**
+     * DEAD 작업을 다시 대기 상태로 전환
+     */
+    @Modifying
+    @Query("UPDATE DiaryAnalysisJob j SET j.status = site.aiion.api.services.diary.analysis.DiaryAnalysisJobStatus.PENDING, "
+            + "j.attempts = 0, j.nextRunAt = :now, j.lockedUntil = null, j.updatedAt = :now "
+            + "WHERE j.status = site.aiion.api.services.diary.analysis.DiaryAnalysisJobStatus.DEAD")
+    int requeueDeadJobs(@Param("now") LocalDateTime now);
+
+    /**
+     * 점유한 작업 완료 (큐에서 삭제)
+     * attempts는 claim 시점의 시도 횟수 - 점유가 만료되어 다른 워커가 다시 가져간 작업이면 0 반환
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DiaryAnalysisJob j WHERE j.id = :id AND j.attempts = :attempts "
+            + "AND j.status = site.aiion.api.services.diary.analysis.DiaryAnalysisJobStatus.RUNNING")
+    int deleteClaimed(@Param("id") Long id, @Param("attempts") int attempts);
+
+    /**
+     * 점유한 작업 실패 처리 (PENDING 재시도 또는 DEAD)
+     * attempts는 claim 시점의 시도 횟수 - 점유가 만료되어 다른 워커가 다시 가져간 작업이면 0 반환
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DiaryAnalysisJob j SET j.status = :status, j.nextRunAt = :nextRunAt, j.lockedUntil = null, "
+            + "j.lastError = :lastError, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.attempts = :attempts "
+            + "AND j.status = site.aiion.api.services.diary.analysis.DiaryAnalysisJobStatus.RUNNING")
+    int releaseClaimed(@Param("id") Long id,
+                       @Param("attempts") int attempts,
+                       @Param("status") DiaryAnalysisJobStatus status,
+                       @Param("nextRunAt") LocalDateTime nextRunAt,
+                       @Param("lastError") String lastError,
+                       @Param("now") LocalDateTime now);
+}
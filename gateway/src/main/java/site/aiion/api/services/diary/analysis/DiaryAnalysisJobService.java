@@ -0,0 +1,42 @@
+package site.aiion.api.services.diary.analysis;
+
+import java.util.List;
+
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+/**
+ * 일기 분석 작업 큐 (diary_analysis_jobs 테이블)
+ */
+public interface DiaryAnalysisJobService {
+    /**
+     * 분석 작업 등록 (호출한 트랜잭션에 참여 - 일기 저장이 커밋될 때 함께 커밋됨)
+     */
+    void enqueue(Long diaryId);
+
+    /**
+     * 실행 가능한 작업을 최대 limit개 점유 (RUNNING 전환 및 시도 횟수 증가)
+     */
+    List<DiaryAnalysisJob> claim(int limit);
+
+    /**
+     * 작업 완료 처리 (큐에서 삭제)
+     * 점유 시점의 작업(claim이 반환한 객체)을 넘기며, 그 사이 점유가 만료되어 다른 워커가 가져갔으면 무시됩니다.
+     */
+    void complete(DiaryAnalysisJob job);
+
+    /**
+     * 작업 실패 처리 (재시도 가능하면 백오프 후 재시도, 아니면 DEAD)
+     * 점유가 만료되어 다른 워커가 가져간 작업이면 무시됩니다.
+     */
+    void fail(DiaryAnalysisJob job, String error, boolean retryable);
+
+    /**
+     * 큐 상태 조회 (상태별 작업 수, 가장 오래된 대기 작업, 최근 DEAD 작업)
+     */
+    Messenger getStats();
+
+    /**
+     * DEAD 작업 전체 재시도
+     */
+    Messenger retryDeadJobs();
+}
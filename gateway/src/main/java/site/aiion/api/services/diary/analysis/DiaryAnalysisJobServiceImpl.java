@@ -0,0 +1,149 @@
+package site.aiion.api.services.diary.analysis;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryAnalysisJobServiceImpl implements DiaryAnalysisJobService {
+
+    private final DiaryAnalysisJobRepository diaryAnalysisJobRepository;
+
+    // 작업 점유 시간 (이 시간 안에 완료/실패 처리되지 않으면 다른 워커가 다시 가져감)
+    @Value("${diary.analysis.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${diary.analysis.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    // 재시도 백오프: base * 2^(attempts-1) 초 (최대 max-backoff-seconds, +최대 20% 지터)
+    @Value("${diary.analysis.jobs.backoff-base-seconds:10}")
+    private long backoffBaseSeconds;
+
+    @Value("${diary.analysis.jobs.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Override
+    @Transactional
+    public void enqueue(Long diaryId) {
+        if (diaryId == null) {
+            return;
+        }
+        if (diaryAnalysisJobRepository.existsByDiaryIdAndStatus(diaryId, DiaryAnalysisJobStatus.PENDING)) {
+            log.debug("일기 ID {} 분석 작업이 이미 대기 중입니다.", diaryId);
+            return;
+        }
+        diaryAnalysisJobRepository.save(DiaryAnalysisJob.builder()
+                .diaryId(diaryId)
+                .status(DiaryAnalysisJobStatus.PENDING)
+                .nextRunAt(LocalDateTime.now())
+                .build());
+        log.info("일기 ID {} 분석 작업 등록", diaryId);
+    }
+
+    @Override
+    @Transactional
+    public List<DiaryAnalysisJob> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DiaryAnalysisJob> locked = diaryAnalysisJobRepository.lockRunnableJobs(now, Math.max(1, limit));
+
+        return locked.stream()
+                .filter(job -> {
+                    // 점유 만료된 작업이 이미 최대 시도 횟수에 도달했으면 (워커가 계속 비정상 종료) DEAD 처리
+                    if (job.getStatus() == DiaryAnalysisJobStatus.RUNNING && job.getAttempts() >= maxAttempts) {
+                        job.setStatus(DiaryAnalysisJobStatus.DEAD);
+                        job.setLockedUntil(null);
+                        job.setLastError("점유 시간 초과 (최대 시도 횟수 도달)");
+                        log.error("일기 ID {} 분석 작업 DEAD 처리: 점유 시간 초과 {}회", job.getDiaryId(), job.getAttempts());
+                        return false;
+                    }
+                    job.setStatus(DiaryAnalysisJobStatus.RUNNING);
+                    job.setAttempts(job.getAttempts() + 1);
+                    job.setLockedUntil(now.plusSeconds(leaseSeconds));
+                    return true;
+                })
+                .toList();
+    }
+
+    @Override
+    public void complete(DiaryAnalysisJob job) {
+        // 점유 시점의 시도 횟수로 조건부 삭제 (claim마다 증가하므로 점유 토큰 역할)
+        int deleted = diaryAnalysisJobRepository.deleteClaimed(job.getId(), job.getAttempts());
+        if (deleted == 0) {
+            log.warn("일기 ID {} 분석 작업 완료 처리 무시: 점유가 만료되어 다른 워커가 가져간 작업 (시도 {}회)",
+                    job.getDiaryId(), job.getAttempts());
+        }
+    }
+
+    @Override
+    public void fail(DiaryAnalysisJob job, String error, boolean retryable) {
+        int attempts = job.getAttempts();
+        LocalDateTime now = LocalDateTime.now();
+        boolean dead = !retryable || attempts >= maxAttempts;
+        Duration backoff = dead ? Duration.ZERO : backoff(attempts);
+        int updated = diaryAnalysisJobRepository.releaseClaimed(job.getId(), attempts,
+                dead ? DiaryAnalysisJobStatus.DEAD : DiaryAnalysisJobStatus.PENDING,
+                now.plus(backoff), error, now);
+        if (updated == 0) {
+            log.warn("일기 ID {} 분석 작업 실패 처리 무시: 점유가 만료되어 다른 워커가 가져간 작업 (시도 {}회)",
+                    job.getDiaryId(), attempts);
+        } else if (dead) {
+            log.error("일기 ID {} 분석 작업 DEAD 처리 (시도 {}회): {}", job.getDiaryId(), attempts, error);
+        } else {
+            log.warn("일기 ID {} 분석 작업 실패 (시도 {}/{}), {}초 후 재시도: {}",
+                    job.getDiaryId(), attempts, maxAttempts, backoff.toSeconds(), error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        long seconds = Math.min(backoffBaseSeconds * (1L << exponent), maxBackoffSeconds);
+        long jitterMillis = ThreadLocalRandom.current().nextLong(seconds * 200 + 1);
+        return Duration.ofSeconds(seconds).plusMillis(jitterMillis);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", diaryAnalysisJobRepository.countByStatus(DiaryAnalysisJobStatus.PENDING));
+        stats.put("running", diaryAnalysisJobRepository.countByStatus(DiaryAnalysisJobStatus.RUNNING));
+        stats.put("dead", diaryAnalysisJobRepository.countByStatus(DiaryAnalysisJobStatus.DEAD));
+        diaryAnalysisJobRepository.findFirstByStatusOrderByCreatedAtAsc(DiaryAnalysisJobStatus.PENDING)
+                .ifPresent(oldest -> {
+                    stats.put("oldestPendingCreatedAt", oldest.getCreatedAt());
+                    stats.put("oldestPendingAgeSeconds", Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toSeconds());
+                });
+        stats.put("recentDead", diaryAnalysisJobRepository.findTop20ByStatusOrderByUpdatedAtDesc(DiaryAnalysisJobStatus.DEAD));
+        return Messenger.builder()
+                .code(200)
+                .message("분석 작업 큐 상태 조회 성공")
+                .data(stats)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Messenger retryDeadJobs() {
+        int count = diaryAnalysisJobRepository.requeueDeadJobs(LocalDateTime.now());
+        log.info("DEAD 분석 작업 {}개 재시도 등록", count);
+        return Messenger.builder()
+                .code(200)
+                .message("DEAD 작업 재시도 등록: " + count + "개")
+                .data(count)
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package site.aiion.api.services.diary.analysis;
+
+/**
+ * 분석 작업 상태
+ * PENDING: 대기 (next_run_at 이후 실행), RUNNING: 워커가 점유 중 (locked_until까지),
+ * DEAD: 최대 재시도 횟수 초과 (관리자 재시도 필요)
+ * 성공한 작업은 테이블에서 삭제됩니다.
+ */
+public enum DiaryAnalysisJobStatus {
+    PENDING,
+    RUNNING,
+    DEAD
+}
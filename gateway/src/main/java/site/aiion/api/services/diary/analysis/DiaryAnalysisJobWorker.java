@@ -0,0 +1,146 @@
+package site.aiion.api.services.diary.analysis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.gateway.config.ThreadingConfig;
+import site.aiion.api.services.diary.Diary;
+import site.aiion.api.services.diary.DiaryRepository;
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+/**
+ * 분석 작업 큐 워커
+ *
+ * diary.analysis.jobs.workers 개의 스레드가 각각 작업을 하나씩 점유하여 처리합니다.
+ * 워커들이 동시에 보내는 추론 요청은 배치 클라이언트가 묶어서 전송합니다.
+ * 큐가 비어있으면 poll-interval-ms 동안 대기합니다.
+ * 워커 스레드는 ThreadingConfig 팩토리로 만들므로 가상 스레드 모드에서는 가상 스레드로 실행됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiaryAnalysisJobWorker {
+
+    private final DiaryAnalysisJobService diaryAnalysisJobService;
+    private final DiaryAnalysisService diaryAnalysisService;
+    private final DiaryRepository diaryRepository;
+    private final ThreadingConfig threadingConfig;
+
+    @Value("${diary.analysis.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${diary.analysis.jobs.workers:4}")
+    private int workers;
+
+    @Value("${diary.analysis.jobs.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("[DiaryAnalysisJobWorker] 분석 작업 워커 비활성화됨");
+            return;
+        }
+        int count = Math.max(1, workers);
+        workerPool = Executors.newFixedThreadPool(count, threadingConfig.threadFactory("DiaryAnalysisJob-"));
+        running = true;
+        for (int i = 0; i < count; i++) {
+            workerPool.execute(this::pollLoop);
+        }
+        log.info("[DiaryAnalysisJobWorker] 분석 작업 워커 {}개 시작", count);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (workerPool == null) {
+            return;
+        }
+        workerPool.shutdownNow();
+        try {
+            // 처리 중인 작업은 점유 만료 후 다른 인스턴스/재시작 시 다시 실행됨
+            workerPool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void pollLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                List<DiaryAnalysisJob> jobs = diaryAnalysisJobService.claim(1);
+                if (jobs.isEmpty()) {
+                    Thread.sleep(pollIntervalMillis);
+                    continue;
+                }
+                for (DiaryAnalysisJob job : jobs) {
+                    process(job);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("[DiaryAnalysisJobWorker] 작업 조회 중 오류: {}", e.getMessage(), e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void process(DiaryAnalysisJob job) {
+        Long diaryId = job.getDiaryId();
+        try {
+            Optional<Diary> diary = diaryRepository.findById(diaryId);
+            if (diary.isEmpty()) {
+                // 분석 전에 일기가 삭제된 경우
+                log.info("일기 ID {}가 존재하지 않아 분석 작업을 종료합니다.", diaryId);
+                diaryAnalysisJobService.complete(job);
+                return;
+            }
+
+            Messenger result = diaryAnalysisService.analyzeAndSave(diaryId, diary.get().getTitle(), diary.get().getContent());
+            if (result.getCode() == 200 && isComplete(result)) {
+                diaryAnalysisJobService.complete(job);
+            } else if (result.getCode() == 400) {
+                // 빈 일기 등 재시도해도 결과가 같은 경우
+                log.warn("일기 ID {} 분석 건너뜀: {}", diaryId, result.getMessage());
+                diaryAnalysisJobService.complete(job);
+            } else {
+                diaryAnalysisJobService.fail(job, result.getMessage(), true);
+            }
+        } catch (Exception e) {
+            log.error("일기 ID {} 분석 작업 처리 중 예외 발생: {}", diaryId, e.getMessage(), e);
+            diaryAnalysisJobService.fail(job, e.getClass().getSimpleName() + ": " + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * 감정/MBTI 결과가 모두 저장되었는지 확인 (일부만 저장된 경우 재시도 - 성공한 쪽은 캐시에서 바로 조회됨)
+     */
+    private boolean isComplete(Messenger result) {
+        return result.getData() instanceof Map<?, ?> data
+                && data.containsKey("emotion")
+                && data.containsKey("mbti");
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package site.aiion.api.services.diary.analysis;
+
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+/**
+ * 일기 통합 분석 (감정 + MBTI)
+ * 분석 텍스트를 한 번만 만들어 두 모델에 전송하고, 두 결과를 하나의 트랜잭션으로 저장합니다.
+ */
+public interface DiaryAnalysisService {
+    /**
+     * 일기 감정/MBTI 분석 수행 및 저장
+     */
+    Messenger analyzeAndSave(Long diaryId, String title, String content);
+}
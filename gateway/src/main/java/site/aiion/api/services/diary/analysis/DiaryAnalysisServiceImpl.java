@@ -0,0 +1,177 @@
+package site.aiion.api.services.diary.analysis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.services.diary.common.domain.Messenger;
+import site.aiion.api.services.diary.emotion.DiaryEmotionService;
+import site.aiion.api.services.diary.inference.AnalysisText;
+import site.aiion.api.services.diary.inference.BatchingInferenceClient;
+import site.aiion.api.services.diary.inference.InferenceResultCache;
+import site.aiion.api.services.diary.mbti.DiaryMbtiService;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@SuppressWarnings("unchecked")
+public class DiaryAnalysisServiceImpl implements DiaryAnalysisService {
+
+    private final DiaryEmotionService diaryEmotionService;
+    private final DiaryMbtiService diaryMbtiService;
+    private final BatchingInferenceClient emotionInferenceClient;
+    private final BatchingInferenceClient mbtiInferenceClient;
+    // 통합 엔드포인트(/diary-analysis/predict) 클라이언트 - 응답: {"emotion": {...}, "mbti": {...}}
+    private final BatchingInferenceClient analysisInferenceClient;
+    private final InferenceResultCache inferenceResultCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // 통합 엔드포인트 사용 여부 (모델 서버가 지원하지 않으면 런타임에 false로 전환)
+    @Value("${diary.inference.combined.enabled:false}")
+    private volatile boolean combinedEnabled;
+
+    @Override
+    public Messenger analyzeAndSave(Long diaryId, String title, String content) {
+        if (diaryId == null) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("일기 ID가 필요합니다.")
+                    .build();
+        }
+
+        // 제목과 내용 결합 (한 번만 생성하여 두 모델에 공통 사용)
+        String text = AnalysisText.of(title, content);
+        if (text.isEmpty()) {
+            log.warn("일기 ID {}의 텍스트가 비어있어 감정/MBTI 분석을 건너뜁니다.", diaryId);
+            return Messenger.builder()
+                    .code(400)
+                    .message("일기 내용이 비어있습니다.")
+                    .build();
+        }
+
+        Map<String, Object> emotionResult = null;
+        Map<String, Object> mbtiResult = null;
+
+        // 두 결과가 모두 캐시에 있으면 모델 서버를 호출하지 않음
+        Map<String, Object> combined = null;
+        if (combinedEnabled) {
+            Map<String, Object> cachedEmotion = inferenceResultCache.get(InferenceResultCache.EMOTION, text).orElse(null);
+            Map<String, Object> cachedMbti = inferenceResultCache.get(InferenceResultCache.MBTI, text).orElse(null);
+            if (cachedEmotion != null && cachedMbti != null) {
+                combined = Map.of("emotion", cachedEmotion, "mbti", cachedMbti);
+            } else {
+                combined = predictCombined(diaryId, text);
+                if (combined != null) {
+                    inferenceResultCache.put(InferenceResultCache.EMOTION, text, (Map<String, Object>) combined.get("emotion"));
+                    inferenceResultCache.put(InferenceResultCache.MBTI, text, (Map<String, Object>) combined.get("mbti"));
+                }
+            }
+        }
+        if (combined != null) {
+            emotionResult = (Map<String, Object>) combined.get("emotion");
+            mbtiResult = (Map<String, Object>) combined.get("mbti");
+        } else {
+            // 두 요청을 동시에 제출 (캐시에 없는 경우에만 각 클라이언트가 다른 일기의 요청과 함께 배치로 전송)
+            CompletableFuture<Map<String, Object>> emotionFuture =
+                    inferenceResultCache.submit(InferenceResultCache.EMOTION, text, emotionInferenceClient);
+            CompletableFuture<Map<String, Object>> mbtiFuture =
+                    inferenceResultCache.submit(InferenceResultCache.MBTI, text, mbtiInferenceClient);
+            emotionResult = await(diaryId, "감정", emotionFuture);
+            mbtiResult = await(diaryId, "MBTI", mbtiFuture);
+        }
+
+        if (emotionResult == null && mbtiResult == null) {
+            return Messenger.builder()
+                    .code(500)
+                    .message("감정/MBTI 분석 중 오류 발생: Business Diary Service 응답 오류")
+                    .build();
+        }
+
+        // 두 결과를 하나의 트랜잭션으로 저장 (한쪽 저장이 실패하면 모두 롤백)
+        final Map<String, Object> emotionToSave = emotionResult;
+        final Map<String, Object> mbtiToSave = mbtiResult;
+        Map<String, Object> saved = transactionTemplate.execute(status -> {
+            Map<String, Object> data = new HashMap<>();
+            if (emotionToSave != null) {
+                Messenger emotionSaved = diaryEmotionService.saveAnalysisResult(diaryId, emotionToSave);
+                if (emotionSaved.getCode() != 200) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                data.put("emotion", emotionSaved.getData());
+            }
+            if (mbtiToSave != null) {
+                Messenger mbtiSaved = diaryMbtiService.saveAnalysisResult(diaryId, mbtiToSave);
+                if (mbtiSaved.getCode() != 200) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                data.put("mbti", mbtiSaved.getData());
+            }
+            return data;
+        });
+
+        if (saved == null) {
+            log.error("일기 ID {} 감정/MBTI 분석 결과 저장 실패 (롤백됨)", diaryId);
+            return Messenger.builder()
+                    .code(500)
+                    .message("감정/MBTI 분석 결과 저장 중 오류 발생")
+                    .build();
+        }
+
+        boolean complete = emotionResult != null && mbtiResult != null;
+        log.info("일기 ID {} 감정/MBTI 분석 결과 저장 완료 (감정: {}, MBTI: {})",
+                diaryId, emotionResult != null, mbtiResult != null);
+        return Messenger.builder()
+                .code(200)
+                .message(complete ? "감정/MBTI 분석 완료" : "감정/MBTI 분석 일부 완료")
+                .data(saved)
+                .build();
+    }
+
+    /**
+     * 통합 엔드포인트로 한 번에 분석 요청
+     * @return 통합 응답, 실패 시 null (개별 엔드포인트로 재시도)
+     */
+    private Map<String, Object> predictCombined(Long diaryId, String text) {
+        try {
+            Map<String, Object> result = analysisInferenceClient.predict(text);
+            if (result.get("emotion") instanceof Map && result.get("mbti") instanceof Map) {
+                return result;
+            }
+            log.warn("일기 ID {} 통합 분석 응답 형식 오류, 개별 요청으로 재시도: {}", diaryId, result.keySet());
+        } catch (HttpClientErrorException e) {
+            int status = e.getStatusCode().value();
+            if (status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.METHOD_NOT_ALLOWED.value()) {
+                log.warn("통합 분석 엔드포인트 미지원 ({}), 개별 감정/MBTI 요청으로 전환", e.getStatusCode());
+                combinedEnabled = false;
+            } else {
+                log.error("일기 ID {} 통합 분석 요청 실패: {}", diaryId, e.getMessage());
+            }
+        } catch (RestClientException e) {
+            log.error("일기 ID {} 통합 분석 요청 실패: {}", diaryId, e.getMessage());
+        }
+        return null;
+    }
+
+    private Map<String, Object> await(Long diaryId, String kind, CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("일기 ID {} {} 분석 요청 실패 - 에러 타입: {}, 메시지: {}",
+                    diaryId, kind, cause.getClass().getSimpleName(), cause.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package site.aiion.api.services.diary.analysis;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
+import site.aiion.api.services.diary.common.domain.Messenger;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/diaries/reanalyze-jobs")
+@Tag(name = "Diary Reanalysis Jobs", description = "일기 일괄 재분석 작업 진행 상황")
+public class DiaryReanalysisController {
+
+    private final DiaryReanalysisEngine diaryReanalysisEngine;
+
+    @GetMapping
+    @Operation(summary = "최근 재분석 작업 목록", description = "최근 재분석 작업 20개의 상태와 진행률을 조회합니다. userId 1만 권한이 있습니다.")
+    public Messenger getRecentJobs(
+            @CurrentUser AuthenticatedUser user) {
+        if (!user.isAdmin()) {
+            return Messenger.builder()
+                    .code(403)
+                    .message("권한이 없습니다. userId 1만 접근할 수 있습니다.")
+                    .build();
+        }
+        return diaryReanalysisEngine.getRecentJobs();
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "재분석 작업 상태 조회", description = "재분석 작업의 진행률(percent), 처리 속도(ratePerSecond), 예상 남은 시간(etaSeconds)을 조회합니다. 본인 작업만 조회할 수 있습니다. (userId 1은 전체)")
+    public Messenger getStatus(
+            @PathVariable Long jobId,
+            @CurrentUser AuthenticatedUser user) {
+        return diaryReanalysisEngine.getStatus(jobId, ownerUserId(user));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "재분석 작업 취소", description = "실행 중인 재분석 작업을 취소합니다. 진행 중인 청크가 저장된 뒤 중단됩니다. 본인 작업만 취소할 수 있습니다. (userId 1은 전체)")
+    public Messenger cancel(
+            @PathVariable Long jobId,
+            @CurrentUser AuthenticatedUser user) {
+        return diaryReanalysisEngine.cancel(jobId, ownerUserId(user));
+    }
+
+    /**
+     * 관리자(userId 1)는 모든 작업, 그 외 사용자는 본인 작업만 (null이면 제한 없음)
+     */
+    private Long ownerUserId(AuthenticatedUser user) {
+        return user.isAdmin() ? null : user.userId();
+    }
+}
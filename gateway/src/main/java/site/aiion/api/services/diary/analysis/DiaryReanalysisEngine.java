@@ -0,0 +1,427 @@
+package site.aiion.api.services.diary.analysis;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.gateway.resilience.RateLimiter;
+import site.aiion.api.services.diary.Diary;
+import site.aiion.api.services.diary.DiaryRepository;
+import site.aiion.api.services.diary.common.domain.Messenger;
+import site.aiion.api.services.diary.emotion.DiaryEmotionService;
+import site.aiion.api.services.diary.inference.AnalysisText;
+import site.aiion.api.services.diary.mbti.DiaryMbtiService;
+
+/**
+ * 일괄 재분석 엔진
+ *
+ * 일기를 id 키셋으로 chunk-size개씩 읽어서 모델 서버에 요청하고(동시 요청 parallelism개, 초당 rate-per-second개),
+ * 청크의 결과 저장과 체크포인트(last_diary_id) 갱신을 하나의 트랜잭션으로 커밋합니다.
+ * HTTP 요청은 작업을 등록하고 바로 반환하며, 진행 상황은 작업 상태 조회로 확인합니다.
+ *
+ * 여러 인스턴스에서 실행되므로 작업은 등록하거나 가져간 인스턴스(owner_id)만 실행하고, 점유(lease_until)를 주기적으로 연장합니다.
+ * 점유가 만료된 RUNNING 작업(실행하던 인스턴스가 종료됨)은 FOR UPDATE SKIP LOCKED 로 한 인스턴스만 가져가서 체크포인트부터 이어서 실행합니다.
+ * 같은 대상의 중복 등록은 active_key 유니크 제약으로 막고, 상태/진행 상황은 조건부 UPDATE로만 바꿔서 취소와 청크 커밋이 서로 덮어쓰지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiaryReanalysisEngine {
+
+    private final DiaryReanalysisJobRepository diaryReanalysisJobRepository;
+    private final DiaryRepository diaryRepository;
+    private final DiaryEmotionService diaryEmotionService;
+    private final DiaryMbtiService diaryMbtiService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${diary.reanalysis.chunk-size:100}")
+    private int chunkSize;
+
+    // 모델 서버로 동시에 보내는 요청 수
+    @Value("${diary.reanalysis.parallelism:8}")
+    private int parallelism;
+
+    // 초당 요청 수 (0이면 제한 없음)
+    @Value("${diary.reanalysis.rate-per-second:10}")
+    private double ratePerSecond;
+
+    // 작업 점유 시간 (lease-seconds / 3 마다 연장, 만료되면 다른 인스턴스가 이어서 실행)
+    @Value("${diary.reanalysis.lease-seconds:120}")
+    private long leaseSeconds;
+
+    // 이 인스턴스의 작업 점유 ID
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 작업은 한 번에 하나씩 순서대로 실행
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "DiaryReanalysis");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 점유 연장 + 만료된 작업 가져오기
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "DiaryReanalysisLease");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 이 인스턴스에서 실행(재개)된 시점의 진행 상황 - ETA 계산용
+    private final Map<Long, RunProgress> runProgress = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLeaseMaintenance() {
+        long interval = Math.max(1, leaseSeconds / 3);
+        leaseScheduler.scheduleWithFixedDelay(this::maintainLeases, 0, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 진행 중인 청크는 커밋되지 않고, 점유가 만료되면 이 인스턴스 또는 다른 인스턴스가 마지막 체크포인트부터 다시 실행
+        leaseScheduler.shutdownNow();
+        runner.shutdownNow();
+    }
+
+    /**
+     * 이 인스턴스가 실행 중인(대기 중 포함) 작업의 점유를 연장하고, 점유가 만료된 작업을 가져와 이어서 실행
+     */
+    private void maintainLeases() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            transactionTemplate.executeWithoutResult(status -> diaryReanalysisJobRepository.renewLeases(instanceId, leaseUntil));
+
+            List<DiaryReanalysisJob> claimed = transactionTemplate.execute(status -> {
+                List<DiaryReanalysisJob> expired = diaryReanalysisJobRepository.lockExpiredRunningJobs(now, 10);
+                for (DiaryReanalysisJob job : expired) {
+                    job.setOwnerId(instanceId);
+                    job.setLeaseUntil(leaseUntil);
+                }
+                return expired;
+            });
+            for (DiaryReanalysisJob job : claimed) {
+                log.info("[DiaryReanalysisEngine] 재분석 작업 {} 재개 ({}: {}/{}, 체크포인트 일기 ID {})",
+                        job.getId(), job.getKind(), job.getProcessedCount(), job.getTotalCount(), job.getLastDiaryId());
+                runner.execute(() -> run(job.getId()));
+            }
+        } catch (Exception e) {
+            log.warn("[DiaryReanalysisEngine] 작업 점유 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 재분석 작업 시작 (같은 대상으로 실행 중인 작업이 있으면 해당 작업을 반환)
+     * @param userId 대상 사용자 ID (null이면 전체 일기)
+     */
+    public Messenger start(DiaryReanalysisKind kind, Long userId) {
+        Optional<DiaryReanalysisJob> existing = findRunning(kind, userId);
+        if (existing.isPresent()) {
+            return alreadyRunning(kind, existing.get());
+        }
+
+        long total = userId != null ? diaryRepository.countByUserId(userId) : diaryRepository.count();
+        if (total == 0) {
+            return Messenger.builder()
+                    .code(200)
+                    .message("재분석할 일기가 없습니다.")
+                    .data(0)
+                    .build();
+        }
+
+        DiaryReanalysisJob job;
+        try {
+            job = diaryReanalysisJobRepository.save(DiaryReanalysisJob.builder()
+                    .kind(kind)
+                    .userId(userId)
+                    .status(DiaryReanalysisStatus.RUNNING)
+                    .totalCount(total)
+                    .activeKey(kind.name() + ":" + (userId != null ? userId : "ALL"))
+                    .ownerId(instanceId)
+                    .leaseUntil(LocalDateTime.now().plusSeconds(leaseSeconds))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 대상의 작업이 동시에 등록됨 (active_key 유니크 제약)
+            Optional<DiaryReanalysisJob> registered = findRunning(kind, userId);
+            if (registered.isEmpty()) {
+                throw e;
+            }
+            return alreadyRunning(kind, registered.get());
+        }
+        log.info("[DiaryReanalysisEngine] 재분석 작업 {} 등록: {} (userId={}, 대상 {}개)", job.getId(), kind, userId, total);
+        runner.execute(() -> run(job.getId()));
+
+        return Messenger.builder()
+                .code(200)
+                .message(kind.getLabel() + " 재분석 작업 시작: 작업 ID " + job.getId() + " (대상 " + total + "개)")
+                .data(toStatus(job))
+                .build();
+    }
+
+    /**
+     * 작업 상태 조회 (진행률, 예상 남은 시간 포함)
+     * @param ownerUserId 요청한 사용자 ID (null이면 관리자 - 모든 작업 조회 가능)
+     */
+    public Messenger getStatus(Long jobId, Long ownerUserId) {
+        return diaryReanalysisJobRepository.findById(jobId)
+                .filter(job -> isAccessible(job, ownerUserId))
+                .map(job -> Messenger.builder()
+                        .code(200)
+                        .message("재분석 작업 조회 성공")
+                        .data(toStatus(job))
+                        .build())
+                .orElseGet(() -> Messenger.builder()
+                        .code(404)
+                        .message("재분석 작업을 찾을 수 없습니다.")
+                        .build());
+    }
+
+    /**
+     * 최근 작업 목록
+     */
+    public Messenger getRecentJobs() {
+        List<Map<String, Object>> jobs = diaryReanalysisJobRepository.findTop20ByOrderByIdDesc().stream()
+                .map(this::toStatus)
+                .toList();
+        return Messenger.builder()
+                .code(200)
+                .message("재분석 작업 목록 조회 성공: " + jobs.size() + "개")
+                .data(jobs)
+                .build();
+    }
+
+    /**
+     * 작업 취소 (진행 중인 청크가 끝난 뒤 중단)
+     * 상태만 조건부 UPDATE로 바꾸므로 동시에 커밋되는 청크의 진행 상황을 덮어쓰지 않음
+     * @param ownerUserId 요청한 사용자 ID (null이면 관리자 - 모든 작업 취소 가능)
+     */
+    public Messenger cancel(Long jobId, Long ownerUserId) {
+        Optional<DiaryReanalysisJob> found = diaryReanalysisJobRepository.findById(jobId)
+                .filter(job -> isAccessible(job, ownerUserId));
+        if (found.isEmpty()) {
+            return Messenger.builder()
+                    .code(404)
+                    .message("재분석 작업을 찾을 수 없습니다.")
+                    .build();
+        }
+        int updated = diaryReanalysisJobRepository.finishIfRunning(jobId, DiaryReanalysisStatus.CANCELLED, null, LocalDateTime.now());
+        DiaryReanalysisJob job = diaryReanalysisJobRepository.findById(jobId).orElse(found.get());
+        if (updated == 0) {
+            return Messenger.builder()
+                    .code(400)
+                    .message("실행 중인 작업만 취소할 수 있습니다. 현재 상태: " + job.getStatus())
+                    .build();
+        }
+        return Messenger.builder()
+                .code(200)
+                .message("재분석 작업 취소: 작업 ID " + jobId)
+                .data(toStatus(job))
+                .build();
+    }
+
+    private Optional<DiaryReanalysisJob> findRunning(DiaryReanalysisKind kind, Long userId) {
+        return userId != null
+                ? diaryReanalysisJobRepository.findFirstByKindAndUserIdAndStatus(kind, userId, DiaryReanalysisStatus.RUNNING)
+                : diaryReanalysisJobRepository.findFirstByKindAndUserIdIsNullAndStatus(kind, DiaryReanalysisStatus.RUNNING);
+    }
+
+    private Messenger alreadyRunning(DiaryReanalysisKind kind, DiaryReanalysisJob job) {
+        return Messenger.builder()
+                .code(200)
+                .message(kind.getLabel() + " 재분석 작업이 이미 실행 중입니다: 작업 ID " + job.getId())
+                .data(toStatus(job))
+                .build();
+    }
+
+    private static boolean isAccessible(DiaryReanalysisJob job, Long ownerUserId) {
+        return ownerUserId == null || ownerUserId.equals(job.getUserId());
+    }
+
+    private void run(Long jobId) {
+        Semaphore inFlight = new Semaphore(Math.max(1, parallelism));
+        RateLimiter rateLimiter = new RateLimiter(ratePerSecond);
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                DiaryReanalysisJob job = diaryReanalysisJobRepository.findById(jobId).orElse(null);
+                if (job == null || job.getStatus() != DiaryReanalysisStatus.RUNNING) {
+                    log.info("[DiaryReanalysisEngine] 재분석 작업 {} 중단 (상태: {})", jobId, job != null ? job.getStatus() : "삭제됨");
+                    return;
+                }
+                if (!instanceId.equals(job.getOwnerId())) {
+                    // 점유가 만료되어 다른 인스턴스가 가져감
+                    log.info("[DiaryReanalysisEngine] 재분석 작업 {} 중단 (다른 인스턴스가 실행 중)", jobId);
+                    return;
+                }
+                runProgress.putIfAbsent(jobId, new RunProgress(System.nanoTime(), job.getProcessedCount()));
+
+                List<Diary> chunk = job.getUserId() != null
+                        ? diaryRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(job.getUserId(), job.getLastDiaryId(), Limit.of(chunkSize))
+                        : diaryRepository.findByIdGreaterThanOrderByIdAsc(job.getLastDiaryId(), Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    diaryReanalysisJobRepository.finishIfRunning(jobId, DiaryReanalysisStatus.COMPLETED, null, LocalDateTime.now());
+                    log.info("[DiaryReanalysisEngine] 재분석 작업 {} 완료: 성공 {}개, 실패 {}개",
+                            jobId, job.getSuccessCount(), job.getFailCount());
+                    return;
+                }
+
+                List<CompletableFuture<Map<String, Object>>> futures = submitChunk(job.getKind(), chunk, inFlight, rateLimiter);
+                commitChunk(jobId, job.getKind(), chunk, futures);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("[DiaryReanalysisEngine] 재분석 작업 {} 중단됨 (재시작 시 체크포인트부터 재개)", jobId);
+        } catch (Exception e) {
+            log.error("[DiaryReanalysisEngine] 재분석 작업 {} 실패: {}", jobId, e.getMessage(), e);
+            diaryReanalysisJobRepository.finishIfRunning(jobId, DiaryReanalysisStatus.FAILED,
+                    e.getClass().getSimpleName() + ": " + e.getMessage(), LocalDateTime.now());
+        } finally {
+            runProgress.remove(jobId);
+        }
+    }
+
+    /**
+     * 청크의 추론 요청 제출 (동시 요청 수 및 초당 요청 수 제한)
+     * 텍스트가 비어있는 일기는 요청하지 않음 (null future)
+     */
+    private List<CompletableFuture<Map<String, Object>>> submitChunk(DiaryReanalysisKind kind, List<Diary> chunk,
+            Semaphore inFlight, RateLimiter rateLimiter) throws InterruptedException {
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(chunk.size());
+        for (Diary diary : chunk) {
+            if (AnalysisText.of(diary.getTitle(), diary.getContent()).isEmpty()) {
+                futures.add(null);
+                continue;
+            }
+            rateLimiter.acquire();
+            inFlight.acquire();
+            CompletableFuture<Map<String, Object>> future;
+            try {
+                future = kind == DiaryReanalysisKind.EMOTION
+                        ? diaryEmotionService.submitAnalysis(diary.getTitle(), diary.getContent())
+                        : diaryMbtiService.submitAnalysis(diary.getTitle(), diary.getContent());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            future.whenComplete((result, error) -> inFlight.release());
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    /**
+     * 청크 결과 저장 + 진행 상황/체크포인트 갱신 (하나의 트랜잭션)
+     */
+    private void commitChunk(Long jobId, DiaryReanalysisKind kind, List<Diary> chunk,
+            List<CompletableFuture<Map<String, Object>>> futures) {
+        // 추론 응답 대기는 트랜잭션 밖에서 (DB 커넥션 점유 방지)
+        List<Map<String, Object>> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CompletableFuture<Map<String, Object>> future = futures.get(i);
+            Map<String, Object> result = null;
+            if (future != null) {
+                try {
+                    result = future.join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("[DiaryReanalysisEngine] 일기 ID {} {} 분석 요청 실패: {}",
+                            chunk.get(i).getId(), kind.getLabel(), cause.getMessage());
+                }
+            }
+            results.add(result);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            long success = 0;
+            long fail = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                if (result == null) {
+                    fail++;
+                    continue;
+                }
+                Long diaryId = chunk.get(i).getId();
+                Messenger saved = kind == DiaryReanalysisKind.EMOTION
+                        ? diaryEmotionService.saveAnalysisResult(diaryId, result)
+                        : diaryMbtiService.saveAnalysisResult(diaryId, result);
+                if (saved.getCode() == 200) {
+                    success++;
+                } else {
+                    fail++;
+                }
+            }
+
+            // 저장한 분석 결과는 유지하고, 취소되었거나 다른 인스턴스가 가져간 작업이면 체크포인트만 반영하지 않음
+            LocalDateTime now = LocalDateTime.now();
+            Long lastDiaryId = chunk.get(chunk.size() - 1).getId();
+            int updated = diaryReanalysisJobRepository.recordProgress(jobId, instanceId, chunk.size(), success, fail,
+                    lastDiaryId, now.plusSeconds(leaseSeconds), now);
+            if (updated == 0) {
+                log.info("[DiaryReanalysisEngine] 재분석 작업 {} 체크포인트 미반영 (취소되었거나 다른 인스턴스가 실행 중)", jobId);
+            } else {
+                log.info("[DiaryReanalysisEngine] 재분석 작업 {} 진행: 체크포인트 일기 ID {} (청크 성공 {}, 실패 {})",
+                        jobId, lastDiaryId, success, fail);
+            }
+        });
+    }
+
+    private Map<String, Object> toStatus(DiaryReanalysisJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("jobId", job.getId());
+        status.put("kind", job.getKind());
+        status.put("userId", job.getUserId());
+        status.put("status", job.getStatus());
+        status.put("total", job.getTotalCount());
+        status.put("processed", job.getProcessedCount());
+        status.put("success", job.getSuccessCount());
+        status.put("fail", job.getFailCount());
+        status.put("lastDiaryId", job.getLastDiaryId());
+        status.put("startedAt", job.getStartedAt());
+        status.put("updatedAt", job.getUpdatedAt());
+        status.put("finishedAt", job.getFinishedAt());
+        status.put("lastError", job.getLastError());
+
+        long total = job.getTotalCount();
+        long processed = job.getProcessedCount();
+        // 작업 도중 일기가 추가되면 처리 수가 시작 시점의 대상 수를 넘을 수 있음
+        double percent = total > 0 ? Math.min(100.0, processed * 100.0 / total) : 100.0;
+        status.put("percent", Math.round(percent * 10) / 10.0);
+
+        RunProgress progress = runProgress.get(job.getId());
+        if (job.getStatus() == DiaryReanalysisStatus.RUNNING && progress != null) {
+            double elapsedSeconds = (System.nanoTime() - progress.startNanos) / 1_000_000_000.0;
+            long processedThisRun = processed - progress.processedAtStart;
+            if (elapsedSeconds > 0 && processedThisRun > 0) {
+                double rate = processedThisRun / elapsedSeconds;
+                status.put("ratePerSecond", Math.round(rate * 100) / 100.0);
+                status.put("etaSeconds", (long) Math.ceil(Math.max(0, total - processed) / rate));
+            }
+        }
+        return status;
+    }
+
+    private record RunProgress(long startNanos, long processedAtStart) {
+    }
+}
@@ -0,0 +1,105 @@
+package site.aiion.api.services.diary.analysis;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 재분석 작업 (진행 상황 및 체크포인트)
+ * 청크 단위로 결과 저장과 함께 커밋되므로, 재시작 후 last_diary_id 다음 일기부터 이어서 실행합니다.
+ * 실행 중인 작업은 한 인스턴스(owner_id)가 점유(lease_until)하며, 점유가 만료된 작업만 다른 인스턴스가 가져갑니다.
+ */
+@Entity
+@Table(name = "diary_reanalysis_jobs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_diary_reanalysis_jobs_active_key", columnNames = "active_key"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryReanalysisJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DiaryReanalysisKind kind;
+
+    /**
+     * 대상 사용자 ID (null이면 전체 일기)
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private DiaryReanalysisStatus status = DiaryReanalysisStatus.RUNNING;
+
+    /**
+     * 작업 시작 시점의 대상 일기 수
+     */
+    @Column(name = "total_count", nullable = false)
+    @Builder.Default
+    private Long totalCount = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    @Builder.Default
+    private Long processedCount = 0L;
+
+    @Column(name = "success_count", nullable = false)
+    @Builder.Default
+    private Long successCount = 0L;
+
+    @Column(name = "fail_count", nullable = false)
+    @Builder.Default
+    private Long failCount = 0L;
+
+    /**
+     * 체크포인트: 마지막으로 처리(커밋)된 일기 ID
+     */
+    @Column(name = "last_diary_id", nullable = false)
+    @Builder.Default
+    private Long lastDiaryId = 0L;
+
+    /**
+     * 실행 중인 작업의 대상 키 (예: EMOTION:ALL, MBTI:123) - 같은 대상의 작업이 동시에 두 개 등록되지 않도록 유니크
+     * RUNNING이 아니면 null
+     */
+    @Column(name = "active_key", length = 64)
+    private String activeKey;
+
+    /**
+     * 작업을 실행 중인 인스턴스 ID
+     */
+    @Column(name = "owner_id", length = 64)
+    private String ownerId;
+
+    /**
+     * 점유 만료 시각 (실행 중인 인스턴스가 주기적으로 연장, 만료되면 다른 인스턴스가 이어서 실행)
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,82 @@
+package site.aiion.api.services.diary.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DiaryReanalysisJobRepository extends JpaRepository<DiaryReanalysisJob, Long> {
+    /**
+     * 점유가 만료된 RUNNING 작업 잠금 (실행하던 인스턴스가 종료된 작업)
+     * 여러 인스턴스가 동시에 조회해도 같은 작업을 두 번 가져가지 않도록 FOR UPDATE SKIP LOCKED 사용
+     */
+    @Query(value = "SELECT * FROM diary_reanalysis_jobs "
+            + "WHERE status = 'RUNNING' AND (lease_until IS NULL OR lease_until < :now) "
+            + "ORDER BY id "
+            + "LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DiaryReanalysisJob> lockExpiredRunningJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 같은 대상으로 실행 중인 작업 조회 (중복 실행 방지)
+     */
+    Optional<DiaryReanalysisJob> findFirstByKindAndUserIdAndStatus(DiaryReanalysisKind kind, Long userId, DiaryReanalysisStatus status);
+
+    Optional<DiaryReanalysisJob> findFirstByKindAndUserIdIsNullAndStatus(DiaryReanalysisKind kind, DiaryReanalysisStatus status);
+
+    /**
+     * 최근 작업 목록
+     */
+    List<DiaryReanalysisJob> findTop20ByOrderByIdDesc();
+
+    /**
+     * 이 인스턴스가 실행 중인 작업의 점유 연장
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DiaryReanalysisJob j SET j.leaseUntil = :leaseUntil "
+            + "WHERE j.ownerId = :ownerId AND j.status = site.aiion.api.services.diary.analysis.DiaryReanalysisStatus.RUNNING")
+    int renewLeases(@Param("ownerId") String ownerId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 청크 진행 상황/체크포인트 반영 (작업을 점유한 인스턴스가 RUNNING 상태일 때만)
+     * 엔티티 전체를 저장하지 않으므로 그 사이 취소된 상태를 덮어쓰지 않음
+     * 같은 트랜잭션에서 저장한 분석 결과를 먼저 flush
+     * @return 0이면 취소되었거나 다른 인스턴스가 작업을 가져감
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE DiaryReanalysisJob j SET j.processedCount = j.processedCount + :processed, "
+            + "j.successCount = j.successCount + :success, j.failCount = j.failCount + :fail, "
+            + "j.lastDiaryId = :lastDiaryId, j.leaseUntil = :leaseUntil, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.ownerId = :ownerId "
+            + "AND j.status = site.aiion.api.services.diary.analysis.DiaryReanalysisStatus.RUNNING")
+    int recordProgress(@Param("id") Long id,
+                       @Param("ownerId") String ownerId,
+                       @Param("processed") long processed,
+                       @Param("success") long success,
+                       @Param("fail") long fail,
+                       @Param("lastDiaryId") Long lastDiaryId,
+                       @Param("leaseUntil") LocalDateTime leaseUntil,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * RUNNING 작업 종료 (COMPLETED, FAILED, CANCELLED)
+     * @return 0이면 이미 종료된 작업
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE DiaryReanalysisJob j SET j.status = :status, j.activeKey = null, j.ownerId = null, "
+            + "j.leaseUntil = null, j.lastError = :lastError, j.finishedAt = :now, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = site.aiion.api.services.diary.analysis.DiaryReanalysisStatus.RUNNING")
+    int finishIfRunning(@Param("id") Long id,
+                        @Param("status") DiaryReanalysisStatus status,
+                        @Param("lastError") String lastError,
+                        @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package site.aiion.api.services.diary.analysis;
+
+/**
+ * 재분석 대상 모델
+ */
+public enum DiaryReanalysisKind {
+    EMOTION("감정"),
+    MBTI("MBTI");
+
+    private final String label;
+
+    DiaryReanalysisKind(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
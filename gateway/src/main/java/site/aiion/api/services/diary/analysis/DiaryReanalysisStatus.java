@@ -0,0 +1,12 @@
+package site.aiion.api.services.diary.analysis;
+
+/**
+ * 재분석 작업 상태
+ * RUNNING 상태로 남아있는 작업은 점유(lease_until)가 만료되면 체크포인트(last_diary_id)부터 이어서 실행됩니다.
+ */
+public enum DiaryReanalysisStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -1,28 +0,0 @@
-package site.aiion.api.services.diary.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
-
-@Configuration
-@EnableAsync
-public class AsyncConfig {
-    
-    @Bean(name = "diaryAnalysisExecutor")
-    public Executor diaryAnalysisExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);  // 기본 스레드 수
-        executor.setMaxPoolSize(10);  // 최대 스레드 수
-        executor.setQueueCapacity(50);  // 대기열 크기
-        executor.setThreadNamePrefix("DiaryAnalysis-");
-        executor.setKeepAliveSeconds(60);
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.initialize();
-        return executor;
-    }
-}
-
@@ -0,0 +1,118 @@
+package site.aiion.api.services.diary.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import site.aiion.api.gateway.config.ThreadingConfig;
+import site.aiion.api.gateway.resilience.DownstreamGuard;
+import site.aiion.api.services.diary.inference.BatchingInferenceClient;
+import site.aiion.api.services.diary.inference.InferenceCacheRepository;
+import site.aiion.api.services.diary.inference.InferenceResultCache;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 감정/MBTI 모델 서버(Business Diary Service) 마이크로 배치 클라이언트 설정
+ */
+@Configuration
+public class InferenceClientConfig {
+
+    // Business Diary Service URL (Docker 네트워크 내부에서 직접 접근)
+    // business/diary_service가 포트 9007에서 실행됨 (컨테이너 이름: aihoyun-diary-service)
+    @Value("${diary.inference.url:http://aihoyun-diary-service:9007}")
+    private String inferenceUrl;
+
+    // 응답 대기 최대 시간 (실제 값은 DownstreamGuard가 최근 응답 시간으로 조정)
+    @Value("${diary.inference.read-timeout-seconds:120}")
+    private long readTimeoutSeconds;
+
+    @Value("${diary.inference.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${diary.inference.batch.max-size:16}")
+    private int maxBatchSize;
+
+    @Value("${diary.inference.batch.max-wait-ms:10}")
+    private long maxWaitMillis;
+
+    @Value("${diary.inference.batch.max-concurrent:2}")
+    private int maxConcurrentBatches;
+
+    @Value("${diary.inference.batch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${diary.inference.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${diary.inference.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${diary.inference.cache.ttl-days:90}")
+    private int cacheTtlDays;
+
+    @Value("${diary.inference.cache.cleanup-interval-hours:6}")
+    private long cacheCleanupIntervalHours;
+
+    @Value("${diary.inference.cache.write-queue-capacity:1000}")
+    private int cacheWriteQueueCapacity;
+
+    // 모델을 교체하면 버전을 올려서 이전 캐시 결과를 무효화
+    @Value("${diary.inference.model-version.emotion:koelectra-emotion-v1}")
+    private String emotionModelVersion;
+
+    @Value("${diary.inference.model-version.mbti:koelectra-mbti-v1}")
+    private String mbtiModelVersion;
+
+    @Bean(name = "emotionInferenceClient", destroyMethod = "shutdown")
+    public BatchingInferenceClient emotionInferenceClient(RestTemplateBuilder restTemplateBuilder, HttpClient httpClient,
+            DownstreamGuard downstreamGuard, ThreadingConfig threadingConfig) {
+        RestTemplate restTemplate = inferenceRestTemplate(restTemplateBuilder, httpClient, downstreamGuard);
+        return new BatchingInferenceClient("emotion", restTemplate, downstreamGuard, inferenceUrl + "/diary-emotion/predict",
+                batchEnabled, maxBatchSize, maxWaitMillis, maxConcurrentBatches, queueCapacity,
+                threadingConfig.threadFactory("Inference-emotion-"));
+    }
+
+    @Bean(name = "mbtiInferenceClient", destroyMethod = "shutdown")
+    public BatchingInferenceClient mbtiInferenceClient(RestTemplateBuilder restTemplateBuilder, HttpClient httpClient,
+            DownstreamGuard downstreamGuard, ThreadingConfig threadingConfig) {
+        RestTemplate restTemplate = inferenceRestTemplate(restTemplateBuilder, httpClient, downstreamGuard);
+        return new BatchingInferenceClient("mbti", restTemplate, downstreamGuard, inferenceUrl + "/diary-mbti/predict",
+                batchEnabled, maxBatchSize, maxWaitMillis, maxConcurrentBatches, queueCapacity,
+                threadingConfig.threadFactory("Inference-mbti-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public InferenceResultCache inferenceResultCache(InferenceCacheRepository inferenceCacheRepository,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new InferenceResultCache(inferenceCacheRepository, objectMapper, meterRegistry, cacheEnabled,
+                Map.of(InferenceResultCache.EMOTION, emotionModelVersion, InferenceResultCache.MBTI, mbtiModelVersion),
+                cacheMaxEntries, cacheTtlDays, cacheCleanupIntervalHours, cacheWriteQueueCapacity);
+    }
+
+    // 감정 + MBTI 통합 엔드포인트 (diary.inference.combined.enabled=true일 때 DiaryAnalysisService가 사용)
+    @Bean(name = "analysisInferenceClient", destroyMethod = "shutdown")
+    public BatchingInferenceClient analysisInferenceClient(RestTemplateBuilder restTemplateBuilder, HttpClient httpClient,
+            DownstreamGuard downstreamGuard, ThreadingConfig threadingConfig) {
+        RestTemplate restTemplate = inferenceRestTemplate(restTemplateBuilder, httpClient, downstreamGuard);
+        return new BatchingInferenceClient("analysis", restTemplate, downstreamGuard, inferenceUrl + "/diary-analysis/predict",
+                batchEnabled, maxBatchSize, maxWaitMillis, maxConcurrentBatches, queueCapacity,
+                threadingConfig.threadFactory("Inference-analysis-"));
+    }
+
+    // 모델 서버 전용 RestTemplate (요청마다 적응형 읽기 타임아웃 적용)
+    private RestTemplate inferenceRestTemplate(RestTemplateBuilder restTemplateBuilder, HttpClient httpClient,
+            DownstreamGuard downstreamGuard) {
+        return restTemplateBuilder
+                .requestFactory(() -> downstreamGuard.requestFactory("diary-inference", httpClient,
+                        Duration.ofSeconds(readTimeoutSeconds)))
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package site.aiion.api.services.diary.inference;
+
+/**
+ * 분석 요청 텍스트 생성 유틸리티
+ * 감정/MBTI 분석 모두 "제목 + 공백 + 내용" 형태의 텍스트를 사용합니다.
+ */
+public final class AnalysisText {
+
+    private AnalysisText() {
+    }
+
+    /**
+     * 제목과 내용을 결합한 분석용 텍스트 (앞뒤 공백 제거)
+     */
+    public static String of(String title, String content) {
+        String text = (title != null ? title : "") + " " + (content != null ? content : "");
+        return text.trim();
+    }
+}
@@ -0,0 +1,318 @@
+package site.aiion.api.services.diary.inference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.gateway.resilience.DownstreamGuard;
+
+/**
+ * 마이크로 배치 추론 클라이언트
+ *
+ * 개별 요청을 최대 maxWaitMillis 동안(또는 maxBatchSize개가 모일 때까지) 모아서
+ * 한 번의 배치 요청({"texts": [...]})으로 모델 서버에 전송합니다.
+ * 각 요청의 future는 배치 응답이 도착하면 입력 순서대로 완료됩니다.
+ *
+ * 모델 서버에 배치 엔드포인트가 없으면(404/405) 단건 엔드포인트({"text": ...})로 자동 전환합니다.
+ * baseUrl을 설정으로 주입받으므로 로컬 스텁 서버를 대상으로도 그대로 사용할 수 있습니다.
+ *
+ * 모델 서버 호출은 DownstreamGuard(diary-inference)를 거치므로, 모델 서버가 멈추면 서킷 브레이커가 열려
+ * 배치 전송 스레드가 응답 시간 초과까지 붙잡히지 않고 즉시 실패합니다.
+ *
+ * 수집 스레드는 전송 슬롯(maxConcurrentBatches)을 먼저 확보한 뒤에만 대기열에서 요청을 꺼내므로,
+ * 모델 서버가 느려 모든 슬롯이 사용 중이면 요청은 전송 스레드 풀이 아니라 대기열에 쌓입니다.
+ * 대기열은 queueCapacity 로 제한되며, 가득 차면 submit()이 즉시 실패합니다.
+ * 종료(shutdown) 이후에는 대기 중이던 요청과 전송되지 못한 배치의 future를 모두 예외로 완료하므로
+ * 호출하는 쪽이 무한히 대기하지 않습니다.
+ */
+@Slf4j
+public class BatchingInferenceClient {
+
+    private static final String DOWNSTREAM = "diary-inference";
+
+    private final String name;
+    private final RestTemplate restTemplate;
+    // 모델 서버 동시 요청 수 제한 + 서킷 브레이커 (gateway.downstream.diary-inference)
+    private final DownstreamGuard downstreamGuard;
+    private final String singleUrl;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+
+    private final BlockingQueue<PendingRequest> queue;
+    private final ExecutorService dispatchExecutor;
+    // 전송 중인 배치 수 제한 (전송 스레드 풀 내부 큐에 배치가 쌓이지 않도록)
+    private final Semaphore dispatchPermits;
+    private final Thread collector;
+
+    private volatile boolean batchSupported;
+    private volatile boolean running = true;
+
+    /**
+     * @param name 로그/스레드 이름용 (예: "emotion")
+     * @param singleUrl 단건 추론 URL (예: http://host:9007/diary-emotion/predict)
+     * @param batchEnabled false면 배치 없이 단건 요청만 사용
+     * @param maxBatchSize 배치당 최대 요청 수
+     * @param maxWaitMillis 첫 요청 이후 배치를 모으는 최대 대기 시간
+     * @param maxConcurrentBatches 동시에 전송 중일 수 있는 배치 수
+     * @param queueCapacity 전송 대기 중인 요청 수 상한 (초과 시 submit 즉시 실패)
+     * @param threadFactory 배치 전송 스레드 팩토리 (ThreadingConfig.threadFactory - 가상 스레드 모드 반영)
+     */
+    public BatchingInferenceClient(String name, RestTemplate restTemplate, DownstreamGuard downstreamGuard, String singleUrl,
+            boolean batchEnabled, int maxBatchSize, long maxWaitMillis, int maxConcurrentBatches, int queueCapacity,
+            ThreadFactory threadFactory) {
+        this.name = name;
+        this.restTemplate = restTemplate;
+        this.downstreamGuard = downstreamGuard;
+        this.singleUrl = singleUrl;
+        this.batchUrl = singleUrl + "/batch";
+        this.batchSupported = batchEnabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+
+        // 가상 스레드 모드에서도 동시에 전송 중인 배치 수는 maxConcurrentBatches 로 제한
+        this.dispatchPermits = new Semaphore(Math.max(1, maxConcurrentBatches));
+        this.dispatchExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentBatches), threadFactory);
+        this.collector = new Thread(this::collectLoop, "Inference-" + name + "-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * 추론 요청 제출 (비동기)
+     * @return 모델 서버의 단건 응답과 동일한 형태의 Map을 담은 future
+     *         (대기열이 가득 찼거나 종료된 경우 RestClientException으로 완료된 future)
+     */
+    public CompletableFuture<Map<String, Object>> submit(String text) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new RestClientException("추론 클라이언트가 종료되었습니다: " + name));
+            return future;
+        }
+        if (!queue.offer(new PendingRequest(text, future))) {
+            log.warn("[BatchingInferenceClient:{}] 대기열이 가득 참 ({}건), 요청 거부", name, queue.size());
+            future.completeExceptionally(new RestClientException(name + " 추론 대기열이 가득 찼습니다"));
+            return future;
+        }
+        if (!running) {
+            // running 확인과 offer 사이에 shutdown()이 대기열을 비웠을 수 있으므로 다시 비움
+            failPending();
+        }
+        return future;
+    }
+
+    /**
+     * 추론 요청 (동기)
+     * 배치로 묶여 전송되며, 응답이 도착할 때까지 대기합니다.
+     * @throws RestClientException 모델 서버 호출 실패 시
+     */
+    public Map<String, Object> predict(String text) {
+        try {
+            return submit(text).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RestClientException restClientException) {
+                throw restClientException;
+            }
+            throw new RestClientException(name + " 추론 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 대기 중인 요청 수
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void collectLoop() {
+        while (running) {
+            List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+            boolean permitted = false;
+            try {
+                // 전송 슬롯이 날 때까지 요청을 꺼내지 않음 (과부하 시 대기열이 차서 submit이 즉시 실패)
+                dispatchPermits.acquire();
+                permitted = true;
+                PendingRequest first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    dispatchPermits.release();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    PendingRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                // 슬롯은 dispatch가 끝날 때 반납
+                permitted = false;
+                dispatchAsync(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                releaseIf(permitted);
+                failAll(batch, new RestClientException("추론 클라이언트 종료: " + name));
+                break;
+            } catch (Throwable t) {
+                log.error("[BatchingInferenceClient:{}] 배치 수집 중 오류: {}", name, t.getMessage(), t);
+                releaseIf(permitted);
+                failAll(batch, new RestClientException(name + " 배치 수집 실패: " + t.getMessage(), t));
+            }
+        }
+        // 수집 스레드가 끝난 뒤 남은 요청은 더 이상 전송되지 않으므로 실패 처리
+        failPending();
+    }
+
+    private void releaseIf(boolean permitted) {
+        if (permitted) {
+            dispatchPermits.release();
+        }
+    }
+
+    private void dispatchAsync(List<PendingRequest> batch) {
+        try {
+            dispatchExecutor.execute(() -> {
+                try {
+                    dispatch(batch);
+                } finally {
+                    dispatchPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이라 전송 스레드가 작업을 받지 않음
+            dispatchPermits.release();
+            failAll(batch, new RestClientException("추론 클라이언트 종료: " + name, e));
+        }
+    }
+
+    private void dispatch(List<PendingRequest> batch) {
+        if (batchSupported && batch.size() > 1) {
+            try {
+                sendBatch(batch);
+                return;
+            } catch (HttpClientErrorException e) {
+                int status = e.getStatusCode().value();
+                if (status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.METHOD_NOT_ALLOWED.value()) {
+                    log.warn("[BatchingInferenceClient:{}] 배치 엔드포인트 미지원 ({}), 단건 요청으로 전환", name, e.getStatusCode());
+                    batchSupported = false;
+                } else {
+                    failAll(batch, e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                failAll(batch, e);
+                return;
+            }
+        }
+        for (PendingRequest request : batch) {
+            try {
+                request.future.complete(sendSingle(request.text));
+            } catch (RuntimeException e) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendBatch(List<PendingRequest> batch) {
+        List<String> texts = batch.stream().map(PendingRequest::text).toList();
+        long start = System.currentTimeMillis();
+        ResponseEntity<Object> response = downstreamGuard.call(DOWNSTREAM,
+                () -> restTemplate.postForEntity(batchUrl, jsonEntity(Map.of("texts", texts)), Object.class));
+
+        Object body = response.getBody();
+        List<Object> results = null;
+        if (body instanceof List<?> list) {
+            results = (List<Object>) list;
+        } else if (body instanceof Map<?, ?> map && map.get("results") instanceof List<?> list) {
+            results = (List<Object>) list;
+        }
+        if (results == null || results.size() != batch.size()) {
+            throw new RestClientException(name + " 배치 응답 형식 오류: 요청 " + batch.size() + "건, 응답 "
+                    + (results != null ? results.size() : "없음"));
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Object item = results.get(i);
+            if (item instanceof Map<?, ?> map) {
+                batch.get(i).future.complete((Map<String, Object>) map);
+            } else {
+                batch.get(i).future.completeExceptionally(new RestClientException(name + " 배치 응답 항목 형식 오류"));
+            }
+        }
+        log.debug("[BatchingInferenceClient:{}] 배치 {}건 처리: {}ms", name, batch.size(), System.currentTimeMillis() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> sendSingle(String text) {
+        ResponseEntity<Map> response = downstreamGuard.call(DOWNSTREAM,
+                () -> restTemplate.postForEntity(singleUrl, jsonEntity(Map.of("text", text)), Map.class));
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new RestClientException(name + " 추론 응답 오류: status = " + response.getStatusCode());
+        }
+        return response.getBody();
+    }
+
+    private HttpEntity<Map<String, Object>> jsonEntity(Map<String, Object> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private void failAll(List<PendingRequest> batch, RuntimeException e) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.error("[BatchingInferenceClient:{}] 배치 {}건 전송 실패: {}", name, batch.size(), e.getMessage());
+        for (PendingRequest request : batch) {
+            request.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 종료 시 남은 요청을 실패 처리
+     */
+    public void shutdown() {
+        running = false;
+        collector.interrupt();
+        dispatchExecutor.shutdown();
+        failPending();
+    }
+
+    private void failPending() {
+        PendingRequest pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new RestClientException("추론 클라이언트 종료: " + name));
+        }
+    }
+
+    private record PendingRequest(String text, CompletableFuture<Map<String, Object>> future) {
+    }
+}
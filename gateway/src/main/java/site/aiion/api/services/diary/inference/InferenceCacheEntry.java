@@ -0,0 +1,59 @@
+package site.aiion.api.services.diary.inference;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 추론 결과 캐시 (정규화된 텍스트 해시 + 모델 버전 기준)
+ * 동일한 텍스트는 모델 서버를 다시 호출하지 않고 저장된 응답을 재사용합니다.
+ */
+@Entity
+@Table(name = "diary_inference_cache",
+       uniqueConstraints = @UniqueConstraint(name = "uk_diary_inference_cache_key",
+                                             columnNames = {"kind", "content_hash", "model_version"}),
+       indexes = @Index(name = "idx_diary_inference_cache_created_at", columnList = "created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InferenceCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 추론 종류 (emotion, mbti)
+     */
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    /**
+     * 정규화된 분석 텍스트의 SHA-256 (hex)
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "model_version", nullable = false, length = 50)
+    private String modelVersion;
+
+    /**
+     * 모델 서버 응답 원본 (JSON)
+     */
+    @Column(name = "result", nullable = false, columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package site.aiion.api.services.diary.inference;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface InferenceCacheRepository extends JpaRepository<InferenceCacheEntry, Long> {
+    /**
+     * 추론 종류 + 텍스트 해시 + 모델 버전으로 캐시된 결과 조회
+     */
+    Optional<InferenceCacheEntry> findByKindAndContentHashAndModelVersion(String kind, String contentHash, String modelVersion);
+
+    /**
+     * 캐시 항목 저장 (이미 있으면 무시)
+     * 같은 텍스트가 동시에 분석되어도 중복 키 예외로 호출 측 트랜잭션이 롤백되지 않도록 ON CONFLICT DO NOTHING 사용
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO diary_inference_cache (kind, content_hash, model_version, result, created_at) "
+            + "VALUES (:kind, :contentHash, :modelVersion, :result, now()) "
+            + "ON CONFLICT (kind, content_hash, model_version) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("kind") String kind,
+                       @Param("contentHash") String contentHash,
+                       @Param("modelVersion") String modelVersion,
+                       @Param("result") String result);
+
+    /**
+     * 현재 모델 버전이 아닌 캐시 항목 삭제 (모델 교체 후 다시 조회되지 않는 결과 정리)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM diary_inference_cache WHERE kind = :kind AND model_version <> :modelVersion", nativeQuery = true)
+    int deleteOtherModelVersions(@Param("kind") String kind, @Param("modelVersion") String modelVersion);
+
+    /**
+     * 보관 기간이 지난 캐시 항목 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM diary_inference_cache WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
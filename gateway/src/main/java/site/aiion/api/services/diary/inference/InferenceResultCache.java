@@ -0,0 +1,254 @@
+package site.aiion.api.services.diary.inference;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 추론 결과 캐시
+ *
+ * 키: 추론 종류 + 정규화된 텍스트의 SHA-256 + 모델 버전
+ * 1차: 메모리 LRU (maxEntries), 2차: diary_inference_cache 테이블
+ * 모델 버전을 올리면 이전 결과는 자연스럽게 무시되어 다시 추론합니다.
+ *
+ * DB 저장은 전용 writer 스레드에서 처리하므로 배치 전송 스레드가 INSERT를 기다리지 않습니다.
+ * (writer 대기열이 가득 차면 DB 저장만 생략하고 diary.inference.cache.write.dropped 로 집계)
+ * 정리 작업이 cleanupIntervalHours 마다 현재 모델 버전이 아닌 항목과 ttlDays 가 지난 항목을 삭제합니다.
+ *
+ * 조회 결과는 actuator metrics의 diary.inference.cache (kind, result=hit|miss, tier=memory|db) 로 확인할 수 있습니다.
+ */
+@Slf4j
+public class InferenceResultCache {
+
+    public static final String EMOTION = "emotion";
+    public static final String MBTI = "mbti";
+
+    private static final TypeReference<Map<String, Object>> RESULT_TYPE = new TypeReference<>() {
+    };
+
+    private final InferenceCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, String> modelVersions;
+    private final Map<String, Map<String, Object>> lru;
+    private final int ttlDays;
+    private final ExecutorService writeExecutor;
+    private final ScheduledExecutorService cleanupScheduler;
+    private final Counter writeDropped;
+
+    /**
+     * @param modelVersions 추론 종류별 모델 버전 (예: emotion -> koelectra-emotion-v1)
+     * @param maxEntries 메모리 LRU 최대 항목 수
+     * @param ttlDays DB 항목 보관 기간 (0 이하면 기간 제한 없음)
+     * @param cleanupIntervalHours DB 정리 주기 (0 이하면 정리하지 않음)
+     * @param writeQueueCapacity DB 저장 대기 수 상한
+     */
+    public InferenceResultCache(InferenceCacheRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            boolean enabled, Map<String, String> modelVersions, int maxEntries, int ttlDays, long cleanupIntervalHours,
+            int writeQueueCapacity) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.modelVersions = Map.copyOf(modelVersions);
+        this.ttlDays = ttlDays;
+
+        int capacity = Math.max(1, maxEntries);
+        this.lru = Collections.synchronizedMap(new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("diary.inference.cache.size", lru, Map::size)
+                .description("메모리 LRU에 보관 중인 추론 결과 수")
+                .register(meterRegistry);
+        this.writeDropped = Counter.builder("diary.inference.cache.write.dropped")
+                .description("writer 대기열이 가득 차 DB에 저장하지 못한 추론 결과 수")
+                .register(meterRegistry);
+
+        this.writeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, writeQueueCapacity)), daemon("InferenceCache-writer"));
+        this.cleanupScheduler = Executors.newSingleThreadScheduledExecutor(daemon("InferenceCache-cleanup"));
+        if (enabled && cleanupIntervalHours > 0) {
+            cleanupScheduler.scheduleWithFixedDelay(this::cleanup, 1, TimeUnit.HOURS.toMinutes(cleanupIntervalHours),
+                    TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 캐시된 결과 조회 (메모리 → DB 순)
+     */
+    public Optional<Map<String, Object>> get(String kind, String text) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String hash = hash(text);
+        String version = modelVersion(kind);
+        String key = kind + ":" + version + ":" + hash;
+
+        Map<String, Object> cached = lru.get(key);
+        if (cached != null) {
+            count(kind, "hit", "memory");
+            return Optional.of(cached);
+        }
+
+        try {
+            Optional<InferenceCacheEntry> entry = repository.findByKindAndContentHashAndModelVersion(kind, hash, version);
+            if (entry.isPresent()) {
+                Map<String, Object> result = objectMapper.readValue(entry.get().getResult(), RESULT_TYPE);
+                lru.put(key, result);
+                count(kind, "hit", "db");
+                return Optional.of(result);
+            }
+        } catch (Exception e) {
+            log.warn("[InferenceResultCache] {} 캐시 조회 실패: {}", kind, e.getMessage());
+        }
+        count(kind, "miss", "none");
+        return Optional.empty();
+    }
+
+    /**
+     * 추론 결과 저장 (메모리는 즉시, DB는 writer 스레드에서 비동기)
+     */
+    public void put(String kind, String text, Map<String, Object> result) {
+        if (!enabled || result == null) {
+            return;
+        }
+        String hash = hash(text);
+        String version = modelVersion(kind);
+        lru.put(kind + ":" + version + ":" + hash, result);
+
+        try {
+            writeExecutor.execute(() -> {
+                try {
+                    repository.insertIfAbsent(kind, hash, version, objectMapper.writeValueAsString(result));
+                } catch (Exception e) {
+                    log.warn("[InferenceResultCache] {} 캐시 저장 실패: {}", kind, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            writeDropped.increment();
+            log.debug("[InferenceResultCache] {} 캐시 저장 대기열 초과, DB 저장 생략", kind);
+        }
+    }
+
+    /**
+     * DB 캐시 정리: 현재 모델 버전이 아닌 항목, 보관 기간이 지난 항목 삭제
+     */
+    public void cleanup() {
+        try {
+            int deleted = 0;
+            for (Map.Entry<String, String> entry : modelVersions.entrySet()) {
+                deleted += repository.deleteOtherModelVersions(entry.getKey(), entry.getValue());
+            }
+            if (ttlDays > 0) {
+                deleted += repository.deleteCreatedBefore(LocalDateTime.now().minusDays(ttlDays));
+            }
+            if (deleted > 0) {
+                log.info("[InferenceResultCache] DB 캐시 {}건 정리", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("[InferenceResultCache] DB 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 대기 중인 DB 저장을 잠시 기다린 뒤 스레드 정리
+     */
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+        writeExecutor.shutdown();
+        try {
+            if (!writeExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                writeExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 캐시를 먼저 확인하고, 없으면 모델 서버에 요청 (비동기)
+     */
+    public CompletableFuture<Map<String, Object>> submit(String kind, String text, BatchingInferenceClient client) {
+        Optional<Map<String, Object>> cached = get(kind, text);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return client.submit(text).thenApply(result -> {
+            put(kind, text, result);
+            return result;
+        });
+    }
+
+    /**
+     * 캐시를 먼저 확인하고, 없으면 모델 서버에 요청 (동기)
+     */
+    public Map<String, Object> predict(String kind, String text, BatchingInferenceClient client) {
+        Optional<Map<String, Object>> cached = get(kind, text);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Map<String, Object> result = client.predict(text);
+        put(kind, text, result);
+        return result;
+    }
+
+    private String modelVersion(String kind) {
+        return modelVersions.getOrDefault(kind, "default");
+    }
+
+    private void count(String kind, String result, String tier) {
+        meterRegistry.counter("diary.inference.cache", "kind", kind, "result", result, "tier", tier).increment();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 정규화(NFC, 연속 공백 축소, 앞뒤 공백 제거)한 텍스트의 SHA-256 (hex)
+     */
+    static String hash(String text) {
+        String normalized = Normalizer.normalize(text != null ? text : "", Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
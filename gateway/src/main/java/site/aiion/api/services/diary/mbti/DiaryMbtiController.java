@@ -5,15 +5,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
 import site.aiion.api.services.diary.common.domain.Messenger;
-import site.aiion.api.services.diary.util.JwtTokenUtil;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,24 +22,13 @@ import site.aiion.api.services.diary.util.JwtTokenUtil;
 public class DiaryMbtiController {
 
     private final DiaryMbtiService diaryMbtiService;
-    private final JwtTokenUtil jwtTokenUtil;
 
     @GetMapping("/diary/{diaryId}")
     @Operation(summary = "일기 ID로 MBTI 분석 결과 조회", description = "일기 ID를 받아 해당 일기의 MBTI 분석 결과를 조회합니다.")
     public Messenger findByDiaryId(
             @PathVariable Long diaryId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증 (선택사항)
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && !jwtTokenUtil.validateToken(token)) {
-                return Messenger.builder()
-                        .code(401)
-                        .message("유효하지 않은 토큰입니다.")
-                        .build();
-            }
-        }
-        
+            @CurrentUser(required = false) AuthenticatedUser user) {
+        // 토큰은 선택 사항 (토큰이 없거나 유효하지 않으면 익명 사용자로 처리)
         return diaryMbtiService.findByDiaryId(diaryId);
     }
 
@@ -48,18 +37,8 @@ public class DiaryMbtiController {
     public Messenger analyzeAndSave(
             @PathVariable Long diaryId,
             @RequestBody AnalyzeRequest request,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증 (선택사항)
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && !jwtTokenUtil.validateToken(token)) {
-                return Messenger.builder()
-                        .code(401)
-                        .message("유효하지 않은 토큰입니다.")
-                        .build();
-            }
-        }
-        
+            @CurrentUser(required = false) AuthenticatedUser user) {
+        // 토큰은 선택 사항 (토큰이 없거나 유효하지 않으면 익명 사용자로 처리)
         return diaryMbtiService.analyzeAndSave(
             diaryId, 
             request.getTitle(), 
@@ -71,18 +50,8 @@ public class DiaryMbtiController {
     @Operation(summary = "일기 MBTI 분석 결과 삭제", description = "일기 ID를 받아 해당 일기의 MBTI 분석 결과를 삭제합니다.")
     public Messenger deleteByDiaryId(
             @PathVariable Long diaryId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // JWT 토큰 검증 (선택사항)
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-            if (token != null && !jwtTokenUtil.validateToken(token)) {
-                return Messenger.builder()
-                        .code(401)
-                        .message("유효하지 않은 토큰입니다.")
-                        .build();
-            }
-        }
-        
+            @CurrentUser(required = false) AuthenticatedUser user) {
+        // 토큰은 선택 사항 (토큰이 없거나 유효하지 않으면 익명 사용자로 처리)
         return diaryMbtiService.deleteByDiaryId(diaryId);
     }
 
@@ -3,6 +3,7 @@ package site.aiion.api.services.diary.mbti;
 import site.aiion.api.services.diary.common.domain.Messenger;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface DiaryMbtiService {
     /**
@@ -21,9 +22,16 @@ public interface DiaryMbtiService {
     Messenger analyzeAndSave(Long diaryId, String title, String content);
     
     /**
-     * 일기 MBTI 분석 수행 및 저장 (비동기)
+     * MBTI 분석 추론 요청만 제출 (마이크로 배치로 묶여 전송됨)
+     * 여러 일기를 한꺼번에 분석할 때 사용하며, 결과 저장은 saveAnalysisResult로 수행합니다.
+     * @return 모델 서버 응답 Map을 담은 future
      */
-    void analyzeAndSaveAsync(Long diaryId, String title, String content);
+    CompletableFuture<Map<String, Object>> submitAnalysis(String title, String content);
+    
+    /**
+     * 모델 서버 응답을 파싱하여 MBTI 분석 결과 저장 (기존 결과가 있으면 업데이트)
+     */
+    Messenger saveAnalysisResult(Long diaryId, Map<String, Object> result);
     
     /**
      * 일기 MBTI 분석 결과 삭제
@@ -1,31 +1,21 @@
 package site.aiion.api.services.diary.util;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import site.aiion.api.gateway.security.JwtTokenVerifier;
 
 /**
  * JWT 토큰 파싱 유틸리티
  * auth-service와 동일한 JWT secret을 사용하여 토큰을 검증하고 userId를 추출합니다.
+ * 서명 검증은 JwtTokenVerifier가 처리하므로, 같은 토큰으로 validateToken과 getUserIdFromToken을 연달아 호출해도 검증은 한 번입니다.
  */
 @Component
+@RequiredArgsConstructor
 public class JwtTokenUtil {
     
-    @Value("${JWT_SECRET:${jwt.secret:defaultSecretKeyForDevelopmentOnlyChangeInProduction}}")
-    private String jwtSecret;
-    
-    /**
-     * SecretKey 생성
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final JwtTokenVerifier jwtTokenVerifier;
     
     /**
      * JWT 토큰에서 사용자 ID 추출
@@ -33,24 +23,18 @@ public class JwtTokenUtil {
      * @return 사용자 ID (Long)
      */
     public Long getUserIdFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            
-            String subject = claims.getSubject();
-            if (subject == null || subject.trim().isEmpty()) {
-                return null;
-            }
-            
-            // subject는 users 테이블의 id (String으로 변환된 값)
-            return Long.parseLong(subject);
-        } catch (Exception e) {
-            System.err.println("[JwtTokenUtil] JWT 토큰 파싱 실패: " + e.getMessage());
-            return null;
-        }
+        return jwtTokenVerifier.tryParse(token)
+                .map(Claims::getSubject)
+                .filter(subject -> !subject.trim().isEmpty())
+                .map(subject -> {
+                    try {
+                        // subject는 users 테이블의 id (String으로 변환된 값)
+                        return Long.parseLong(subject);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .orElse(null);
     }
     
     /**
@@ -59,16 +43,7 @@ public class JwtTokenUtil {
      * @return 유효 여부
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            System.err.println("[JwtTokenUtil] JWT 토큰 검증 실패: " + e.getMessage());
-            return false;
-        }
+        return jwtTokenVerifier.tryParse(token).isPresent();
     }
     
     /**
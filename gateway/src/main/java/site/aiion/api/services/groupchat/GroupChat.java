@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "group_chats")
+@Table(name = "group_chats", indexes = {
+        // 최근 메시지 / 페이징 조회 (ORDER BY created_at DESC)
+        @Index(name = "idx_group_chats_created_at", columnList = "created_at"),
+        // 사용자별 메시지 조회
+        @Index(name = "idx_group_chats_user_created_at", columnList = "user_id, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
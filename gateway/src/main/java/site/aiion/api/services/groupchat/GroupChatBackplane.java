@@ -0,0 +1,20 @@
+package site.aiion.api.services.groupchat;
+
+/**
+ * 단체 채팅 메시지 전파 경로
+ *
+ * 저장된 메시지를 모든 게이트웨이 인스턴스의 GroupChatBroadcaster로 전달합니다.
+ * groupchat.backplane=local(기본): 현재 인스턴스에만 전달
+ * groupchat.backplane=redis: Redis pub/sub로 다른 인스턴스에도 전달
+ */
+public interface GroupChatBackplane {
+    /**
+     * 저장(커밋)된 메시지 전파
+     */
+    void publish(GroupChatModel message);
+
+    /**
+     * 모든 인스턴스의 최근 메시지 링 버퍼 비우기 (전체 삭제 커밋 후)
+     */
+    void clearRecentMessages();
+}
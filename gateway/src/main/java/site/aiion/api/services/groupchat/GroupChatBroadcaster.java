@@ -0,0 +1,715 @@
+package site.aiion.api.services.groupchat;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 단체 채팅 브로드캐스터 (SSE / WebSocket 공통)
+ *
+ * 저장된 메시지는 publish()로 최근 메시지 링 버퍼에 추가되고, 연결된 클라이언트에게 바로 전달됩니다.
+ * 클라이언트마다 최근에 전달한 메시지 ID(reorder-window 범위)를 보관하여 중복 전송을 막습니다.
+ * 여러 인스턴스에서 저장된 메시지는 ID 순서와 다르게 도착할 수 있으므로(다른 인스턴스의 10번이 자신의 11번보다 늦게 도착)
+ * 가장 큰 ID보다 작은 메시지도 아직 전달하지 않았으면 전달합니다.
+ * DB 조회는 연결 시 따라잡기(catch-up) 한 번뿐이고, keep-alive는 공유 타이머 하나로 전송하므로
+ * 연결 수가 늘어나도 DB 조회 수는 늘어나지 않습니다.
+ *
+ * 재연결(Last-Event-ID) 시 요청한 ID가 링 버퍼 범위 안이면 메모리에서 바로 재전송하고,
+ * 범위 밖일 때만 WHERE id > ? ORDER BY id LIMIT ? 조회로 최대 max-replay 개까지 재전송합니다.
+ * 배포 직후 대량 재연결이 일어나도 대부분 메모리에서 처리됩니다.
+ *
+ * 전송은 클라이언트별 전송 큐에 넣기만 하고, writer(sseWriterExecutor)가 쌓인 이벤트를 한 번에 묶어 flush 합니다.
+ * 큐가 max-queue 를 넘거나 가장 오래된 이벤트가 max-lag-ms 이상 전송되지 않으면 연결을 끊습니다(느린 클라이언트 제거).
+ * 전송 한 번이 write-timeout-ms 를 넘겨도 연결을 끊어, 막힌 연결이 공유 writer 스레드를 오래 점유하지 않도록 합니다.
+ * 끊긴 클라이언트는 EventSource 재연결 + Last-Event-ID 로 빠진 메시지를 다시 받습니다.
+ * 따라서 메시지 저장 요청의 응답 시간은 가장 느린 클라이언트와 무관합니다.
+ *
+ * 연결 방식은 GroupChatSink 로 추상화되어 있어 SSE(SseGroupChatSink)와 WebSocket(WebSocketGroupChatSink)이
+ * 같은 링 버퍼/전송 큐/제거 정책을 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupChatBroadcaster {
+
+    private final GroupChatRepository groupChatRepository;
+    // ThreadingConfig.sseScheduler
+    private final ScheduledExecutorService sseScheduler;
+    // ThreadingConfig.sseWriterExecutor
+    private final ExecutorService sseWriterExecutor;
+    // ThreadingConfig.sseCloseExecutor (막힌 전송 뒤에 줄 서지 않도록 writer와 분리)
+    private final ExecutorService sseCloseExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${groupchat.sse.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${groupchat.sse.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    // 새 연결(이전 메시지 ID 없음)에 보내는 최근 메시지 수
+    @Value("${groupchat.sse.initial-messages:50}")
+    private int initialMessages;
+
+    // 링 버퍼 범위 밖 재연결 시 DB에서 재전송하는 최대 메시지 수
+    @Value("${groupchat.sse.max-replay:500}")
+    private int maxReplay;
+
+    // 클라이언트별 전송 대기 이벤트 수 상한 (초과 시 연결 끊음, 재연결 시 재전송)
+    @Value("${groupchat.sse.max-queue:256}")
+    private int maxQueue;
+
+    // 가장 오래된 대기 이벤트의 최대 지연 (초과 시 연결 끊음)
+    @Value("${groupchat.sse.max-lag-ms:30000}")
+    private long maxLagMillis;
+
+    // 전송 한 번(send)의 최대 시간 (초과 시 연결 끊음, writer 스레드를 오래 점유하지 않도록)
+    @Value("${groupchat.sse.write-timeout-ms:10000}")
+    private long writeTimeoutMillis;
+
+    // 가장 큰 전달 ID보다 이만큼 작은 ID까지는 늦게 도착해도 전달 (그보다 오래된 메시지는 이미 전달된 것으로 간주)
+    @Value("${groupchat.sse.reorder-window:64}")
+    private int reorderWindow;
+
+    // 최근 메시지 링 버퍼 (ID 오름차순)
+    private final ArrayDeque<GroupChatModel> recentMessages = new ArrayDeque<>();
+    // 링 버퍼가 windowStartId 보다 큰 ID의 메시지를 모두 갖고 있음 (적재 전/무효화 후에는 범위 없음)
+    private long windowStartId = Long.MAX_VALUE;
+    // 링 버퍼를 비우거나 무효화할 때마다 증가 (그 전에 시작된 적재 결과를 버리기 위해)
+    private long windowGeneration;
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private ScheduledFuture<?> heartbeatTask;
+    private ScheduledFuture<?> writeTimeoutTask;
+
+    /**
+     * 연결된 클라이언트
+     * 큐/커서 변경은 클라이언트 단위로 동기화, 실제 전송은 writer 하나만 (락 밖에서) 수행
+     */
+    private static class Client {
+        private final String id;
+        private final GroupChatSink sink;
+        private final long connectedAt = System.currentTimeMillis();
+        private final ArrayDeque<GroupChatEvent> queue = new ArrayDeque<>();
+        private final DeliveredIds delivered;
+        // 따라잡기 완료 전에는 실시간 메시지를 넣지 않음 (따라잡기에서 링 버퍼까지 확인)
+        private boolean ready;
+        private boolean pingPending;
+        private boolean writerScheduled;
+        private volatile boolean closed;
+        private volatile long sentCount;
+        private volatile long lastFlushAt;
+        private volatile long lastFlushLagMillis;
+        // 진행 중인 전송의 시작 시각 (0이면 전송 중 아님)
+        private volatile long sendStartedAt;
+
+        private Client(String id, GroupChatSink sink, DeliveredIds delivered) {
+            this.id = id;
+            this.sink = sink;
+            this.delivered = delivered;
+        }
+    }
+
+    /**
+     * 클라이언트에게 전달한 메시지 ID
+     * floor 이하는 모두 전달된 것으로 보고, floor 보다 큰 ID는 하나씩 기록합니다.
+     * 가장 큰 ID와의 차이가 window를 넘는 ID는 floor로 합쳐서 클라이언트당 최대 window개만 보관합니다.
+     */
+    static final class DeliveredIds {
+        private final int window;
+        private final TreeSet<Long> ids = new TreeSet<>();
+        private long floor;
+
+        DeliveredIds(long floor, int window) {
+            this.floor = floor;
+            this.window = Math.max(1, window);
+        }
+
+        /**
+         * @return 처음 전달하는 ID면 true (기록됨)
+         */
+        boolean add(long id) {
+            if (id <= floor || !ids.add(id)) {
+                return false;
+            }
+            long newFloor = ids.last() - window;
+            while (!ids.isEmpty() && ids.first() <= newFloor) {
+                ids.pollFirst();
+            }
+            floor = Math.max(floor, newFloor);
+            return true;
+        }
+
+        void raiseFloor(long id) {
+            floor = Math.max(floor, id);
+            ids.headSet(floor, true).clear();
+        }
+
+        long floor() {
+            return floor;
+        }
+
+        long highest() {
+            return ids.isEmpty() ? floor : ids.last();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(1, heartbeatSeconds);
+        heartbeatTask = sseScheduler.scheduleAtFixedRate(this::sendHeartbeat, period, period, TimeUnit.SECONDS);
+        long checkPeriod = Math.max(100, writeTimeoutMillis / 4);
+        writeTimeoutTask = sseScheduler.scheduleAtFixedRate(this::evictStalledWriters, checkPeriod, checkPeriod, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("groupchat.sse.clients", clients, Map::size)
+                .description("연결된 단체 채팅 클라이언트 수 (SSE + WebSocket)")
+                .register(meterRegistry);
+        Gauge.builder("groupchat.sse.queue.depth.max", this, b -> b.maxQueueDepth())
+                .description("클라이언트별 전송 대기 이벤트 수 중 최대값")
+                .register(meterRegistry);
+        FunctionCounter.builder("groupchat.sse.evicted", evictedCount, AtomicLong::get)
+                .description("느린 클라이언트로 판단되어 끊은 연결 수 (누적)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 최근 메시지로 링 버퍼 채우기 (재시작 직후 재연결도 메모리에서 처리)
+     * 링 버퍼에 없던 메시지 중 링 버퍼의 가장 오래된 메시지보다 새 것은 (구독이 끊긴 동안 놓친 메시지)
+     * 현재 연결된 클라이언트에게도 전달합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentMessages() {
+        int capacity = Math.max(1, bufferSize);
+        long generation;
+        synchronized (recentMessages) {
+            generation = windowGeneration;
+        }
+        List<GroupChatModel> missed = new ArrayList<>();
+        try {
+            List<GroupChatModel> latest = new ArrayList<>(groupChatRepository.findByOrderByIdDesc(Limit.of(capacity)).stream()
+                    .map(this::entityToModel)
+                    .toList());
+            Collections.reverse(latest);
+            synchronized (recentMessages) {
+                if (generation != windowGeneration) {
+                    // 적재 중 링 버퍼가 비워졌거나 (비운 상태 유지) 다시 무효화됨 (새 적재가 처리)
+                    log.info("[GroupChatBroadcaster] 적재 중 링 버퍼가 변경되어 적재 결과를 버립니다.");
+                    return;
+                }
+                // 적재 중 publish된 메시지와 ID 기준으로 합침
+                long firstBufferedId = recentMessages.isEmpty() ? Long.MAX_VALUE : recentMessages.peekFirst().getId();
+                TreeMap<Long, GroupChatModel> merged = new TreeMap<>();
+                for (GroupChatModel message : recentMessages) {
+                    merged.put(message.getId(), message);
+                }
+                for (GroupChatModel message : latest) {
+                    if (merged.putIfAbsent(message.getId(), message) == null && message.getId() > firstBufferedId) {
+                        missed.add(message);
+                    }
+                }
+                recentMessages.clear();
+                recentMessages.addAll(merged.values());
+                windowStartId = latest.size() < capacity ? 0L : latest.get(0).getId() - 1;
+                trim();
+            }
+            log.info("[GroupChatBroadcaster] 최근 메시지 {}개 적재 (놓친 메시지 {}개)", latest.size(), missed.size());
+        } catch (Exception e) {
+            log.warn("[GroupChatBroadcaster] 최근 메시지 적재 실패 (재연결은 DB에서 처리): {}", e.getMessage());
+        }
+        // 링 버퍼에는 이미 추가되어 있으므로 클라이언트 전송 큐에만 들어감 (이미 전달한 메시지는 건너뜀)
+        missed.forEach(this::publish);
+    }
+
+    /**
+     * 링 버퍼 범위를 무효화하고 DB에서 다시 적재 (백플레인 구독이 연결되거나 다시 연결된 경우)
+     * 구독이 끊긴 동안 다른 인스턴스에서 저장된 메시지는 링 버퍼에 없으므로,
+     * 적재가 끝날 때까지 Last-Event-ID 재연결은 링 버퍼 대신 DB에서 따라잡습니다.
+     */
+    public void reloadRecentMessages() {
+        synchronized (recentMessages) {
+            windowStartId = Long.MAX_VALUE;
+            windowGeneration++;
+        }
+        try {
+            // 구독 알림 스레드(Redis 이벤트 루프)에서 DB를 조회하지 않도록 스케줄러에서 적재
+            sseScheduler.execute(this::loadRecentMessages);
+        } catch (RejectedExecutionException e) {
+            log.warn("[GroupChatBroadcaster] 최근 메시지 재적재 예약 실패 (재연결은 DB에서 처리): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeatTask != null) {
+            heartbeatTask.cancel(false);
+        }
+        if (writeTimeoutTask != null) {
+            writeTimeoutTask.cancel(false);
+        }
+        for (Client client : clients.values()) {
+            client.closed = true;
+            client.sink.close();
+        }
+        clients.clear();
+    }
+
+    /**
+     * SSE 클라이언트 등록 (emitter 종료 시 자동 해제)
+     */
+    public String register(SseEmitter emitter, long lastId) {
+        String clientId = UUID.randomUUID().toString();
+        emitter.onCompletion(() -> unregister(clientId));
+        emitter.onTimeout(() -> unregister(clientId));
+        emitter.onError(ex -> unregister(clientId));
+        return register(clientId, new SseGroupChatSink(emitter), lastId);
+    }
+
+    /**
+     * 클라이언트 등록 후 lastId 이후 메시지 전송
+     * @param lastId 마지막으로 받은 메시지 ID (0이면 새 연결: 최근 initial-messages 개만 전송)
+     * @return 연결 ID
+     */
+    public String register(String clientId, GroupChatSink sink, long lastId) {
+        Client client = new Client(clientId, sink, new DeliveredIds(Math.max(0, lastId), reorderWindow));
+
+        // 먼저 등록해야 따라잡기 중 저장된 메시지도 링 버퍼를 통해 받을 수 있음
+        clients.put(clientId, client);
+
+        // 따라잡기 조회(DB일 수 있음)는 락 밖에서 - 그동안 publish/sendTo가 이 클라이언트 락에서 기다리지 않음
+        // 아직 ready가 아니므로 조회 중 저장된 메시지는 아래에서 링 버퍼로 합침
+        List<GroupChatModel> replayed = replay(client, lastId);
+
+        int queued = 0;
+        synchronized (client) {
+            if (lastId <= 0 && !replayed.isEmpty()) {
+                // 새 연결은 최근 initial-messages 개부터
+                client.delivered.raiseFloor(replayed.get(0).getId() - 1);
+            }
+            for (GroupChatModel message : replayed) {
+                queued += enqueueIfNew(client, message) ? 1 : 0;
+            }
+            // 조회 이후 (또는 조회 범위 사이에) 커밋된 메시지 - 이미 넣은 메시지는 enqueueIfNew에서 제외
+            for (GroupChatModel message : snapshotAfter(client.delivered.floor())) {
+                queued += enqueueIfNew(client, message) ? 1 : 0;
+            }
+            client.ready = true;
+        }
+        scheduleWriter(client);
+        log.debug("클라이언트 등록: clientId={}, lastId={}, 재전송={}, 현재 연결 수={}", clientId, lastId, queued, clients.size());
+        return clientId;
+    }
+
+    /**
+     * 새 메시지를 링 버퍼에 추가하고 연결된 모든 클라이언트의 전송 큐에 넣음 (전송은 writer가 수행)
+     */
+    public void publish(GroupChatModel message) {
+        if (message == null || message.getId() == null) {
+            log.warn("브로드캐스트 실패: 메시지가 null이거나 ID가 없음");
+            return;
+        }
+        append(message);
+
+        List<Client> slow = new ArrayList<>();
+        for (Client client : clients.values()) {
+            boolean queued;
+            synchronized (client) {
+                if (!client.ready || client.closed) {
+                    continue;
+                }
+                if (client.queue.size() >= Math.max(1, maxQueue)) {
+                    slow.add(client);
+                    continue;
+                }
+                queued = enqueueIfNew(client, message);
+            }
+            if (queued) {
+                scheduleWriter(client);
+            }
+        }
+        slow.forEach(client -> evict(client, "전송 큐 초과"));
+        log.debug("브로드캐스트 완료: messageId={}, 클라이언트 수={}, 제거={}", message.getId(), clients.size(), slow.size());
+    }
+
+    /**
+     * 연결 해제 (연결이 닫힌 뒤 호출)
+     */
+    public void unregister(String clientId) {
+        Client client = clients.get(clientId);
+        if (client != null) {
+            remove(client, "종료");
+        }
+    }
+
+    /**
+     * 특정 클라이언트에게만 이벤트 전송 (WebSocket 응답 등, 다른 이벤트와 같은 writer로 순서 보장)
+     */
+    public boolean sendTo(String clientId, GroupChatEvent event) {
+        Client client = clients.get(clientId);
+        if (client == null) {
+            return false;
+        }
+        synchronized (client) {
+            if (client.closed) {
+                return false;
+            }
+            client.queue.addLast(event);
+        }
+        scheduleWriter(client);
+        return true;
+    }
+
+    /**
+     * 링 버퍼 비우기 (전체 삭제 후 삭제된 메시지가 재전송되지 않도록)
+     * 다른 인스턴스의 링 버퍼는 GroupChatBackplane.clearRecentMessages()로 함께 비웁니다.
+     */
+    public void clearRecentMessages() {
+        synchronized (recentMessages) {
+            recentMessages.clear();
+            windowStartId = 0L;
+            windowGeneration++;
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * 연결 통계 (클라이언트별 큐 깊이, 지연)
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> connections = new ArrayList<>();
+        for (Client client : clients.values()) {
+            Map<String, Object> stat = new LinkedHashMap<>();
+            synchronized (client) {
+                GroupChatEvent oldest = client.queue.peekFirst();
+                stat.put("clientId", client.id);
+                stat.put("transport", client.sink instanceof SseGroupChatSink ? "sse" : "websocket");
+                stat.put("queueDepth", client.queue.size());
+                stat.put("lagMillis", oldest != null ? now - oldest.enqueuedAt() : 0L);
+                stat.put("cursor", client.delivered.highest());
+            }
+            stat.put("lastFlushLagMillis", client.lastFlushLagMillis);
+            stat.put("sent", client.sentCount);
+            stat.put("connectedSeconds", (now - client.connectedAt) / 1000);
+            stat.put("lastFlushSecondsAgo", client.lastFlushAt > 0 ? (now - client.lastFlushAt) / 1000 : null);
+            connections.add(stat);
+        }
+        connections.sort(Comparator.comparingLong(stat -> -((Number) stat.get("lagMillis")).longValue()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("clients", connections.size());
+        stats.put("maxQueueDepth", maxQueueDepth());
+        stats.put("evicted", evictedCount.get());
+        stats.put("maxQueue", maxQueue);
+        stats.put("maxLagMillis", maxLagMillis);
+        stats.put("connections", connections);
+        return stats;
+    }
+
+    private int maxQueueDepth() {
+        int max = 0;
+        for (Client client : clients.values()) {
+            synchronized (client) {
+                max = Math.max(max, client.queue.size());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 아직 전달하지 않은 메시지만 큐에 추가 (호출 측에서 client 락 보유)
+     */
+    private boolean enqueueIfNew(Client client, GroupChatModel message) {
+        if (!client.delivered.add(message.getId())) {
+            return false;
+        }
+        client.queue.addLast(GroupChatEvent.message(message));
+        return true;
+    }
+
+    private void scheduleWriter(Client client) {
+        synchronized (client) {
+            if (client.writerScheduled || client.closed || (client.queue.isEmpty() && !client.pingPending)) {
+                return;
+            }
+            client.writerScheduled = true;
+        }
+        try {
+            sseWriterExecutor.execute(() -> drain(client));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            synchronized (client) {
+                client.writerScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * 쌓인 이벤트를 하나의 묶음으로 전송 (flush 1회), 전송 중 새로 쌓인 이벤트는 다음 묶음으로 전송
+     */
+    private void drain(Client client) {
+        while (true) {
+            List<GroupChatEvent> batch;
+            boolean ping;
+            synchronized (client) {
+                if (client.closed || (client.queue.isEmpty() && !client.pingPending)) {
+                    client.writerScheduled = false;
+                    return;
+                }
+                batch = new ArrayList<>(client.queue);
+                client.queue.clear();
+                ping = client.pingPending;
+                client.pingPending = false;
+            }
+
+            List<GroupChatEvent> events = batch;
+            if (ping && batch.isEmpty()) {
+                // 보낼 이벤트가 없을 때만 ping (이벤트 전송 자체가 keep-alive 역할)
+                events = List.of(GroupChatEvent.of(GroupChatEvent.PING, null));
+            }
+
+            client.sendStartedAt = System.currentTimeMillis();
+            try {
+                client.sink.send(events);
+            } catch (Exception e) {
+                synchronized (client) {
+                    client.writerScheduled = false;
+                }
+                remove(client, "전송 실패");
+                return;
+            } finally {
+                client.sendStartedAt = 0L;
+            }
+
+            long now = System.currentTimeMillis();
+            client.sentCount += batch.size();
+            client.lastFlushAt = now;
+            if (!batch.isEmpty()) {
+                client.lastFlushLagMillis = now - batch.get(0).enqueuedAt();
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Client> slow = new ArrayList<>();
+        for (Client client : clients.values()) {
+            synchronized (client) {
+                if (!client.ready || client.closed) {
+                    continue;
+                }
+                GroupChatEvent oldest = client.queue.peekFirst();
+                if (oldest != null && now - oldest.enqueuedAt() > maxLagMillis) {
+                    slow.add(client);
+                    continue;
+                }
+                client.pingPending = true;
+            }
+            scheduleWriter(client);
+        }
+        slow.forEach(client -> evict(client, "전송 지연 초과"));
+    }
+
+    /**
+     * 전송 한 번이 write-timeout-ms 를 넘긴 연결 끊기
+     * 막힌 전송은 컨테이너 쓰기 타임아웃(SSE: server.tomcat.connection-timeout, WebSocket: 전송 타임아웃)으로 풀리고,
+     * 그동안 이 연결에는 더 이상 이벤트를 쌓지 않습니다.
+     */
+    private void evictStalledWriters() {
+        long now = System.currentTimeMillis();
+        for (Client client : clients.values()) {
+            long startedAt = client.sendStartedAt;
+            if (startedAt > 0 && now - startedAt > writeTimeoutMillis) {
+                evict(client, "전송 시간 초과");
+            }
+        }
+    }
+
+    /**
+     * 느린 클라이언트 연결 끊기 (클라이언트는 재연결 후 Last-Event-ID 이후 메시지를 다시 받음)
+     */
+    private void evict(Client client, String reason) {
+        synchronized (client) {
+            if (client.closed) {
+                return;
+            }
+            client.closed = true;
+            client.queue.clear();
+        }
+        evictedCount.incrementAndGet();
+        remove(client, reason);
+        log.warn("느린 클라이언트 연결 종료: clientId={}, 사유={}", client.id, reason);
+        // 전송이 막힌 연결일 수 있으므로 close()는 호출 스레드(메시지 저장 요청)나 writer 풀에서 기다리지 않음
+        try {
+            sseCloseExecutor.execute(client.sink::close);
+        } catch (RejectedExecutionException e) {
+            log.debug("SSE 연결 종료 작업 거부됨 (종료 중): clientId={}", client.id);
+        }
+    }
+
+    private void remove(Client client, String reason) {
+        client.closed = true;
+        if (clients.remove(client.id, client)) {
+            log.debug("연결 제거: clientId={}, 사유={}, 현재 연결 수={}", client.id, reason, clients.size());
+        }
+    }
+
+    private void append(GroupChatModel message) {
+        synchronized (recentMessages) {
+            // 커밋 순서가 바뀐 경우에도 ID 오름차순 유지
+            if (recentMessages.isEmpty() || recentMessages.peekLast().getId() < message.getId()) {
+                recentMessages.addLast(message);
+            } else {
+                List<GroupChatModel> tail = new ArrayList<>();
+                while (!recentMessages.isEmpty() && recentMessages.peekLast().getId() > message.getId()) {
+                    tail.add(0, recentMessages.pollLast());
+                }
+                if (recentMessages.isEmpty() || !recentMessages.peekLast().getId().equals(message.getId())) {
+                    recentMessages.addLast(message);
+                }
+                recentMessages.addAll(tail);
+            }
+            trim();
+        }
+    }
+
+    private void trim() {
+        while (recentMessages.size() > Math.max(1, bufferSize)) {
+            // 늦게 도착한 메시지가 범위 앞쪽에 들어갔다가 밀려나도 범위 시작이 뒤로 가지 않도록
+            windowStartId = Math.max(windowStartId, recentMessages.pollFirst().getId());
+        }
+    }
+
+    /**
+     * 재전송할 메시지 (링 버퍼 우선, 범위 밖이면 DB)
+     */
+    private List<GroupChatModel> replay(Client client, long lastId) {
+        if (lastId <= 0) {
+            List<GroupChatModel> latest = latestFromWindow(Math.max(0, initialMessages));
+            if (latest != null) {
+                return latest;
+            }
+            return findLatestMessages(Math.max(1, initialMessages));
+        }
+
+        synchronized (recentMessages) {
+            if (lastId >= windowStartId) {
+                return snapshotAfter(lastId);
+            }
+        }
+
+        int limit = Math.max(1, maxReplay);
+        List<GroupChatModel> fromDb = findMessagesAfterId(lastId, limit);
+        if (fromDb.size() >= limit) {
+            // 재전송 한도 초과: 이후 구간은 링 버퍼에서 이어서 전송하고, 빠진 구간은 클라이언트가 REST API로 조회
+            log.info("재전송 한도 초과: clientId={}, lastId={}, 한도={}", client.id, lastId, limit);
+            synchronized (client) {
+                client.queue.addLast(GroupChatEvent.of("replay-truncated", fromDb.get(fromDb.size() - 1).getId()));
+            }
+        }
+        return fromDb;
+    }
+
+    /**
+     * 링 버퍼의 최근 count개 (범위가 없거나, 링 버퍼에 충분한 메시지가 없고 전체 범위도 아니면 null)
+     */
+    private List<GroupChatModel> latestFromWindow(int count) {
+        synchronized (recentMessages) {
+            if (windowStartId == Long.MAX_VALUE || (recentMessages.size() < count && windowStartId != 0L)) {
+                return null;
+            }
+            List<GroupChatModel> result = new ArrayList<>(count);
+            Iterator<GroupChatModel> it = recentMessages.descendingIterator();
+            while (it.hasNext() && result.size() < count) {
+                result.add(0, it.next());
+            }
+            return result;
+        }
+    }
+
+    private List<GroupChatModel> snapshotAfter(long afterId) {
+        List<GroupChatModel> result = new ArrayList<>();
+        synchronized (recentMessages) {
+            Iterator<GroupChatModel> it = recentMessages.descendingIterator();
+            while (it.hasNext()) {
+                GroupChatModel message = it.next();
+                if (message.getId() <= afterId) {
+                    break;
+                }
+                result.add(0, message);
+            }
+        }
+        return result;
+    }
+
+    private List<GroupChatModel> findMessagesAfterId(long lastId, int limit) {
+        try {
+            return groupChatRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(limit)).stream()
+                    .map(this::entityToModel)
+                    .toList();
+        } catch (Exception e) {
+            log.error("메시지 조회 오류: lastId={}", lastId, e);
+            return List.of();
+        }
+    }
+
+    private List<GroupChatModel> findLatestMessages(int limit) {
+        try {
+            List<GroupChatModel> latest = new ArrayList<>(groupChatRepository.findByOrderByIdDesc(Limit.of(limit)).stream()
+                    .map(this::entityToModel)
+                    .toList());
+            Collections.reverse(latest);
+            return latest;
+        } catch (Exception e) {
+            log.error("최근 메시지 조회 오류", e);
+            return List.of();
+        }
+    }
+
+    private GroupChatModel entityToModel(GroupChat entity) {
+        return GroupChatModel.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .username(entity.getUsername())
+                .message(entity.getMessage())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -8,8 +8,9 @@ import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import site.aiion.api.gateway.security.AuthenticatedUser;
+import site.aiion.api.gateway.security.CurrentUser;
 import site.aiion.api.services.about.common.domain.Messenger;
-import site.aiion.api.services.diary.util.JwtTokenUtil;
 import site.aiion.api.services.user.UserRepository;
 import site.aiion.api.services.user.User;
 
@@ -22,38 +23,14 @@ import java.util.Optional;
 public class GroupChatController {
 
     private final GroupChatService groupChatService;
-    private final JwtTokenUtil jwtTokenUtil;
     private final UserRepository userRepository;
 
     @PostMapping
     @Operation(summary = "메시지 전송", description = "단체 채팅방에 메시지를 전송합니다. 인증된 사용자만 가능합니다.")
     public Messenger sendMessage(
             @RequestBody GroupChatModel groupChatModel,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        
-        // JWT 토큰에서 userId 추출 및 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다. 로그인 후 메시지를 보낼 수 있습니다.")
-                    .build();
-        }
-
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser currentUser) {
+        Long tokenUserId = currentUser.userId();
 
         // 토큰의 userId로 설정 (클라이언트에서 보낸 userId는 무시)
         groupChatModel.setUserId(tokenUserId);
@@ -95,34 +72,10 @@ public class GroupChatController {
     @DeleteMapping("/all")
     @Operation(summary = "모든 메시지 삭제", description = "단체 채팅방의 모든 메시지를 삭제합니다. userId 1만 권한이 있습니다.")
     public Messenger deleteAllMessages(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        
-        // JWT 토큰에서 userId 추출 및 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("인증 토큰이 필요합니다.")
-                    .build();
-        }
-
-        String token = jwtTokenUtil.extractTokenFromHeader(authHeader);
-        if (token == null || !jwtTokenUtil.validateToken(token)) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("유효하지 않은 토큰입니다.")
-                    .build();
-        }
-
-        Long tokenUserId = jwtTokenUtil.getUserIdFromToken(token);
-        if (tokenUserId == null) {
-            return Messenger.builder()
-                    .code(401)
-                    .message("토큰에서 사용자 ID를 추출할 수 없습니다.")
-                    .build();
-        }
+            @CurrentUser AuthenticatedUser currentUser) {
 
         // userId 1만 권한 허용
-        if (!tokenUserId.equals(1L)) {
+        if (!currentUser.isAdmin()) {
             return Messenger.builder()
                     .code(403)
                     .message("메시지 삭제 권한이 없습니다. (userId 1만 가능)")
@@ -0,0 +1,23 @@
+package site.aiion.api.services.groupchat;
+
+/**
+ * 클라이언트에게 전송할 단체 채팅 이벤트 (SSE/WebSocket 공통)
+ *
+ * @param type 이벤트 종류 (message, ping, replay-truncated, ack, error)
+ * @param id 메시지 ID (재연결 시 Last-Event-ID 로 사용, 없으면 null)
+ * @param data 이벤트 데이터
+ * @param enqueuedAt 전송 큐에 들어간 시각 (지연 측정용)
+ */
+public record GroupChatEvent(String type, Long id, Object data, long enqueuedAt) {
+
+    public static final String MESSAGE = "message";
+    public static final String PING = "ping";
+
+    public static GroupChatEvent message(GroupChatModel message) {
+        return new GroupChatEvent(MESSAGE, message.getId(), message, System.currentTimeMillis());
+    }
+
+    public static GroupChatEvent of(String type, Object data) {
+        return new GroupChatEvent(type, null, data, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,117 @@
+package site.aiion.api.services.groupchat;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.services.diary.util.JwtTokenUtil;
+import site.aiion.api.services.user.User;
+import site.aiion.api.services.user.UserRepository;
+
+/**
+ * 단체 채팅 WebSocket 핸드셰이크 인증
+ *
+ * 연결 시 한 번만 JWT를 검증하고 userId/username을 세션 속성에 저장합니다. (메시지마다 토큰을 파싱하지 않음)
+ * 브라우저 WebSocket API는 헤더를 지정할 수 없으므로 토큰을 Sec-WebSocket-Protocol 로 전달합니다.
+ *   new WebSocket(url, ["groupchat", "bearer." + token])
+ * 서버는 "groupchat"만 응답 서브프로토콜로 선택합니다(GroupChatWebSocketHandler). 토큰 항목은 되돌려 보내지 않습니다.
+ * 쿼리 파라미터(?token=)는 접근 로그와 프록시 로그에 남으므로 받지 않습니다.
+ * 헤더를 지정할 수 있는 클라이언트는 Authorization: Bearer 헤더도 사용할 수 있습니다.
+ * 토큰이 없으면 읽기 전용으로 연결되고, 토큰이 있는데 유효하지 않으면 401로 거부합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupChatHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String USER_ID = "groupchat.userId";
+    static final String USERNAME = "groupchat.username";
+    static final String LAST_ID = "groupchat.lastId";
+
+    // 응답 서브프로토콜 / 토큰을 담는 요청 서브프로토콜 접두사
+    static final String PROTOCOL = "groupchat";
+    static final String TOKEN_PROTOCOL_PREFIX = "bearer.";
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+
+        attributes.put(LAST_ID, parseLastId(params.getFirst("lastId")));
+
+        String token = jwtTokenUtil.extractTokenFromHeader(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            token = extractTokenFromProtocols(request);
+        }
+        if (token == null || token.isBlank()) {
+            return true;
+        }
+
+        Long userId = jwtTokenUtil.validateToken(token) ? jwtTokenUtil.getUserIdFromToken(token) : null;
+        if (userId == null) {
+            log.debug("WebSocket 핸드셰이크 거부: 유효하지 않은 토큰");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(USER_ID, userId);
+        attributes.put(USERNAME, resolveUsername(userId));
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    /**
+     * nickname이 있으면 nickname, 없으면 name (GroupChatController와 동일)
+     */
+    private String resolveUsername(Long userId) {
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+            return user.getNickname() != null && !user.getNickname().isEmpty()
+                    ? user.getNickname()
+                    : (user.getName() != null ? user.getName() : "사용자 " + userId);
+        }
+        return "사용자 " + userId;
+    }
+
+    /**
+     * Sec-WebSocket-Protocol 의 "bearer.{JWT}" 항목에서 토큰 추출 (없으면 null)
+     */
+    private String extractTokenFromProtocols(ServerHttpRequest request) {
+        for (String protocol : new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol()) {
+            if (protocol.regionMatches(true, 0, TOKEN_PROTOCOL_PREFIX, 0, TOKEN_PROTOCOL_PREFIX.length())) {
+                return protocol.substring(TOKEN_PROTOCOL_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    private long parseLastId(String value) {
+        if (value == null || value.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package site.aiion.api.services.groupchat;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +12,13 @@ public interface GroupChatRepository extends JpaRepository<GroupChat, Long> {
     // 최신 메시지부터 조회 (페이징)
     Page<GroupChat> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
-    // 최신 메시지 N개 조회
-    List<GroupChat> findTop50ByOrderByCreatedAtDesc();
+    // 최신 메시지 N개 조회 (idx_group_chats_created_at 사용)
+    List<GroupChat> findByOrderByCreatedAtDesc(Limit limit);
+
+    // 특정 ID 이후 메시지 조회 (SSE 재연결 시 재전송용, PK 인덱스 사용)
+    List<GroupChat> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // 최신 메시지 N개 조회 (ID 역순, SSE 새 연결/링 버퍼 적재용)
+    List<GroupChat> findByOrderByIdDesc(Limit limit);
 }
 
@@ -2,12 +2,14 @@ package site.aiion.api.services.groupchat;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import site.aiion.api.services.about.common.domain.Messenger;
 
 import java.util.List;
@@ -18,16 +20,36 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GroupChatServiceImpl implements GroupChatService {
 
+    private static final int MAX_RECENT_LIMIT = 500;
+
     private final GroupChatRepository groupChatRepository;
-    private final ApplicationContext applicationContext;
-    
-    // SSE 컨트롤러 가져오기 (순환 참조 방지)
-    private GroupChatSSEController getSseController() {
-        try {
-            return applicationContext.getBean(GroupChatSSEController.class);
-        } catch (Exception e) {
-            log.debug("SSE 컨트롤러를 가져올 수 없음 (정상 - 초기화 중일 수 있음)");
-            return null;
+    // 인스턴스 간 전파 (groupchat.backplane=local|redis)
+    private final GroupChatBackplane groupChatBackplane;
+
+    /**
+     * 커밋 후 SSE 브로드캐스트 (커밋 전에 보내면 클라이언트의 따라잡기 조회와 순서가 어긋날 수 있음)
+     */
+    private void broadcastAfterCommit(GroupChatModel message) {
+        afterCommit(() -> {
+            try {
+                groupChatBackplane.publish(message);
+            } catch (Exception e) {
+                // 브로드캐스트 실패해도 메시지 저장은 성공으로 처리
+                log.warn("SSE 브로드캐스트 실패 (메시지는 저장됨): messageId={}", message.getId(), e);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable broadcast) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast.run();
+                }
+            });
+        } else {
+            broadcast.run();
         }
     }
 
@@ -83,20 +105,9 @@ public class GroupChatServiceImpl implements GroupChatService {
 
             log.info("그룹 채팅 메시지 저장 성공: userId={}, id={}", groupChatModel.getUserId(), savedEntity.getId());
             
-            // SSE로 모든 연결된 클라이언트에게 즉시 브로드캐스트
-            try {
-                GroupChatSSEController sseController = getSseController();
-                if (sseController != null) {
-                    sseController.broadcastMessage(savedModel);
-                    log.info("SSE 브로드캐스트 완료: messageId={}", savedEntity.getId());
-                } else {
-                    log.debug("SSE 컨트롤러를 가져올 수 없음 (정상 - 메시지는 저장됨)");
-                }
-            } catch (Exception e) {
-                log.warn("SSE 브로드캐스트 실패 (메시지는 저장됨): messageId={}", savedEntity.getId(), e);
-                // 브로드캐스트 실패해도 메시지 저장은 성공으로 처리
-            }
-            
+            // SSE로 모든 연결된 클라이언트에게 브로드캐스트 (커밋 후)
+            broadcastAfterCommit(savedModel);
+
             return Messenger.builder()
                     .code(200)
                     .message("메시지 전송 성공")
@@ -136,10 +147,10 @@ public class GroupChatServiceImpl implements GroupChatService {
     @Override
     public Messenger findRecentMessages(int limit) {
         try {
-            List<GroupChat> entities = groupChatRepository.findTop50ByOrderByCreatedAtDesc();
-            // limit 파라미터로 실제 필요한 만큼만 반환
+            // 요청한 개수만큼만 조회 (최대 MAX_RECENT_LIMIT)
+            int size = Math.min(Math.max(limit, 1), MAX_RECENT_LIMIT);
+            List<GroupChat> entities = groupChatRepository.findByOrderByCreatedAtDesc(Limit.of(size));
             List<GroupChatModel> messages = entities.stream()
-                    .limit(limit)
                     .map(this::entityToModel)
                     .collect(Collectors.toList());
 
@@ -162,7 +173,10 @@ public class GroupChatServiceImpl implements GroupChatService {
     public Messenger deleteAll() {
         try {
             long count = groupChatRepository.count();
-            groupChatRepository.deleteAll();
+            // 엔티티를 모두 읽어 하나씩 지우지 않고 DELETE 한 번으로 삭제
+            groupChatRepository.deleteAllInBatch();
+            // 모든 인스턴스의 링 버퍼를 커밋 후 비움 (롤백되면 유지)
+            afterCommit(groupChatBackplane::clearRecentMessages);
             log.info("그룹 채팅 메시지 전체 삭제 성공: {} 개", count);
             return Messenger.builder()
                     .code(200)
@@ -0,0 +1,20 @@
+package site.aiion.api.services.groupchat;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 단체 채팅 연결 (SSE / WebSocket)
+ * GroupChatBroadcaster의 writer가 클라이언트별로 한 번에 하나씩만 호출합니다.
+ */
+public interface GroupChatSink {
+    /**
+     * 쌓인 이벤트를 한 번에 전송
+     */
+    void send(List<GroupChatEvent> events) throws IOException;
+
+    /**
+     * 연결 종료 (전송이 막혀 있을 수 있으므로 writer 스레드에서 호출됨)
+     */
+    void close();
+}
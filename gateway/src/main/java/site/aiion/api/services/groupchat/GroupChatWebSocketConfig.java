@@ -0,0 +1,32 @@
+package site.aiion.api.services.groupchat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 단체 채팅 WebSocket 엔드포인트 등록
+ * SSE(/api/groupchat/stream) + POST(/api/groupchat)와 같은 저장/브로드캐스트 경로를 사용합니다.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class GroupChatWebSocketConfig implements WebSocketConfigurer {
+
+    private final GroupChatWebSocketHandler groupChatWebSocketHandler;
+    private final GroupChatHandshakeInterceptor groupChatHandshakeInterceptor;
+
+    @Value("${groupchat.websocket.allowed-origins:https://hohyun.site}")
+    private String[] allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(groupChatWebSocketHandler, "/ws/groupchat")
+                .addInterceptors(groupChatHandshakeInterceptor)
+                .setAllowedOrigins(allowedOrigins);
+    }
+}
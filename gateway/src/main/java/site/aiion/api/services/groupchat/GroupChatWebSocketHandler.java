@@ -0,0 +1,113 @@
+package site.aiion.api.services.groupchat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import site.aiion.api.services.about.common.domain.Messenger;
+
+/**
+ * 단체 채팅 WebSocket (/ws/groupchat)
+ *
+ * 수신: SSE와 같은 GroupChatBroadcaster에 등록되어 같은 이벤트({"type": "message", "id": ..., "data": {...}})를 받습니다.
+ * 송신: {"type": "message", "message": "...", "clientMessageId": "..."} 를 보내면
+ *       GroupChatService.save로 저장되고 {"type": "ack"} 또는 {"type": "error"} 응답을 받습니다.
+ * 인증은 핸드셰이크 시 한 번만 수행합니다. (GroupChatHandshakeInterceptor)
+ * 서브프로토콜은 "groupchat"만 지원하므로, 토큰을 서브프로토콜로 보내는 클라이언트에도 토큰 항목 대신 이 값을 응답합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupChatWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    private final GroupChatBroadcaster groupChatBroadcaster;
+    private final GroupChatService groupChatService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${groupchat.sse.write-timeout-ms:10000}")
+    private long writeTimeoutMillis;
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(GroupChatHandshakeInterceptor.PROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Object lastId = session.getAttributes().get(GroupChatHandshakeInterceptor.LAST_ID);
+        groupChatBroadcaster.register(session.getId(), new WebSocketGroupChatSink(session, objectMapper, writeTimeoutMillis),
+                lastId instanceof Long ? (Long) lastId : 0L);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(message.getPayload());
+        } catch (Exception e) {
+            reply(session, "error", null, 400, "잘못된 메시지 형식입니다.", null);
+            return;
+        }
+
+        String type = payload.path("type").asText("message");
+        if ("ping".equals(type)) {
+            return;
+        }
+        if (!"message".equals(type)) {
+            reply(session, "error", null, 400, "지원하지 않는 메시지 종류입니다: " + type, null);
+            return;
+        }
+
+        String clientMessageId = payload.hasNonNull("clientMessageId") ? payload.get("clientMessageId").asText() : null;
+        Object userId = session.getAttributes().get(GroupChatHandshakeInterceptor.USER_ID);
+        if (!(userId instanceof Long)) {
+            reply(session, "error", clientMessageId, 401, "인증 토큰이 필요합니다. 로그인 후 메시지를 보낼 수 있습니다.", null);
+            return;
+        }
+
+        GroupChatModel model = GroupChatModel.builder()
+                .userId((Long) userId)
+                .username((String) session.getAttributes().get(GroupChatHandshakeInterceptor.USERNAME))
+                .message(payload.path("message").asText(null))
+                .build();
+        Messenger result = groupChatService.save(model);
+        Long savedId = result.getData() instanceof GroupChatModel saved ? saved.getId() : null;
+        reply(session, result.getCode() == 200 ? "ack" : "error", clientMessageId, result.getCode(), result.getMessage(), savedId);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        groupChatBroadcaster.unregister(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket 전송 오류: sessionId={}, {}", session.getId(), exception.getMessage());
+        groupChatBroadcaster.unregister(session.getId());
+    }
+
+    /**
+     * 요청한 클라이언트에게만 응답 (브로드캐스트 이벤트와 같은 전송 큐를 사용하여 동시 전송 방지)
+     */
+    private void reply(WebSocketSession session, String type, String clientMessageId, int code, String message, Long id) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("clientMessageId", clientMessageId);
+        data.put("code", code);
+        data.put("message", message);
+        data.put("id", id);
+        groupChatBroadcaster.sendTo(session.getId(), GroupChatEvent.of(type, data));
+    }
+}
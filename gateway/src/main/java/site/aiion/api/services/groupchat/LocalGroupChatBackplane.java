@@ -0,0 +1,27 @@
+package site.aiion.api.services.groupchat;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 단일 인스턴스용 전파 경로 (현재 인스턴스의 SSE 클라이언트에게만 전달)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "groupchat.backplane", havingValue = "local", matchIfMissing = true)
+public class LocalGroupChatBackplane implements GroupChatBackplane {
+
+    private final GroupChatBroadcaster groupChatBroadcaster;
+
+    @Override
+    public void publish(GroupChatModel message) {
+        groupChatBroadcaster.publish(message);
+    }
+
+    @Override
+    public void clearRecentMessages() {
+        groupChatBroadcaster.clearRecentMessages();
+    }
+}
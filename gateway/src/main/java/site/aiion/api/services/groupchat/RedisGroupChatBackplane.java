@@ -0,0 +1,144 @@
+package site.aiion.api.services.groupchat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis pub/sub 전파 경로 (여러 게이트웨이 인스턴스 운영 시)
+ *
+ * 저장한 인스턴스는 자신의 SSE 클라이언트에게 바로 전달하고, 같은 메시지를 채널에 발행합니다.
+ * 다른 인스턴스는 채널을 구독하여 각자의 SSE 클라이언트에게 전달하며, 자신이 발행한 메시지(nodeId 동일)는 무시합니다.
+ * 전체 삭제 시 링 버퍼 비우기(type=clear)도 같은 채널로 전파합니다.
+ * pub/sub는 구독 중인 인스턴스에게만 전달되고 재전송되지 않으므로, 구독이 끊긴 동안의 메시지는 링 버퍼에 없습니다.
+ * 링 버퍼 범위 안의 재연결은 DB를 조회하지 않아 그대로 두면 복구되지 않으므로, 구독이 연결(재연결 포함)될 때마다
+ * 링 버퍼 범위를 무효화하고 DB에서 다시 적재합니다(onChannelSubscribed). 적재 중의 재연결은 DB 따라잡기 조회로 처리되고,
+ * 적재 후에는 놓친 메시지를 현재 연결된 클라이언트에게도 전달합니다.
+ *
+ * 로컬 테스트: application-local.yaml의 localhost Redis(docker run redis) + groupchat.backplane=redis 로 인스턴스 두 개 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "groupchat.backplane", havingValue = "redis")
+public class RedisGroupChatBackplane implements GroupChatBackplane, MessageListener, SubscriptionListener {
+
+    private final GroupChatBroadcaster groupChatBroadcaster;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final ObjectMapper objectMapper;
+
+    @Value("${groupchat.redis.channel:groupchat:messages}")
+    private String channel;
+
+    // 인스턴스 식별자 (자신이 발행한 메시지 무시용)
+    private final String nodeId = UUID.randomUUID().toString();
+    private RedisMessageListenerContainer listenerContainer;
+
+    static final String TYPE_MESSAGE = "message";
+    static final String TYPE_CLEAR = "clear";
+
+    /**
+     * 채널로 전송되는 메시지
+     * type이 없으면(이전 버전 인스턴스가 발행) message로 처리
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Envelope {
+        private String nodeId;
+        private String type;
+        private GroupChatModel message;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        log.info("[GroupChatBackplane] Redis 채널 구독 시작: channel={}, nodeId={}", channel, nodeId);
+    }
+
+    @PreDestroy
+    public void unsubscribe() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    @Override
+    public void publish(GroupChatModel message) {
+        // 현재 인스턴스는 Redis 왕복 없이 바로 전달
+        groupChatBroadcaster.publish(message);
+        try {
+            stringRedisTemplate.convertAndSend(channel,
+                    objectMapper.writeValueAsString(new Envelope(nodeId, TYPE_MESSAGE, message)));
+        } catch (Exception e) {
+            // 다른 인스턴스의 클라이언트는 재연결 시 따라잡기 조회로 받음
+            log.warn("[GroupChatBackplane] Redis 발행 실패: messageId={}, {}", message.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void clearRecentMessages() {
+        groupChatBroadcaster.clearRecentMessages();
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(new Envelope(nodeId, TYPE_CLEAR, null)));
+        } catch (Exception e) {
+            // 다른 인스턴스의 링 버퍼는 새 메시지로 밀려날 때까지 삭제된 메시지를 재전송할 수 있음
+            log.warn("[GroupChatBackplane] Redis 링 버퍼 비우기 발행 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (nodeId.equals(envelope.getNodeId())) {
+                return;
+            }
+            if (TYPE_CLEAR.equals(envelope.getType())) {
+                groupChatBroadcaster.clearRecentMessages();
+                return;
+            }
+            if (envelope.getMessage() != null) {
+                groupChatBroadcaster.publish(envelope.getMessage());
+            }
+        } catch (Exception e) {
+            log.warn("[GroupChatBackplane] Redis 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 채널 구독 확인 (처음 구독 및 연결 복구 후 재구독)
+     */
+    @Override
+    public void onChannelSubscribed(byte[] subscribedChannel, long count) {
+        log.info("[GroupChatBackplane] Redis 채널 구독됨, 링 버퍼 재적재: channel={}",
+                new String(subscribedChannel, StandardCharsets.UTF_8));
+        groupChatBroadcaster.reloadRecentMessages();
+    }
+}
@@ -0,0 +1,48 @@
+package site.aiion.api.services.groupchat;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SSE 연결 - 쌓인 이벤트를 하나의 응답 쓰기(flush 1회)로 전송
+ */
+public class SseGroupChatSink implements GroupChatSink {
+
+    private final SseEmitter emitter;
+
+    public SseGroupChatSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(List<GroupChatEvent> events) throws IOException {
+        Set<ResponseBodyEmitter.DataWithMediaType> items = new LinkedHashSet<>();
+        for (GroupChatEvent event : events) {
+            if (GroupChatEvent.PING.equals(event.type())) {
+                items.addAll(SseEmitter.event().name(GroupChatEvent.PING).comment("keep-alive").build());
+                continue;
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.type()).data(event.data());
+            if (event.id() != null) {
+                builder.id(String.valueOf(event.id()));
+            }
+            items.addAll(builder.build());
+        }
+        try {
+            emitter.send(items);
+        } catch (IllegalStateException e) {
+            // 이미 완료된 emitter
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
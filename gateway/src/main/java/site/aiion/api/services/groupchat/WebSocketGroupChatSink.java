@@ -0,0 +1,68 @@
+package site.aiion.api.services.groupchat;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 연결 - 이벤트마다 {"type": ..., "id": ..., "data": ...} 텍스트 프레임으로 전송
+ * WebSocketSession.sendMessage는 동시 호출을 지원하지 않으므로 브로드캐스터의 writer만 호출합니다.
+ * 프레임 전송이 writeTimeoutMillis 안에 끝나지 않으면 Tomcat이 IOException으로 실패시킵니다. (writer 스레드 점유 방지)
+ */
+@Slf4j
+public class WebSocketGroupChatSink implements GroupChatSink {
+
+    private final WebSocketSession session;
+    private final ObjectMapper objectMapper;
+
+    // Tomcat WebSocket 블로킹 전송 타임아웃 (세션별 사용자 속성, 밀리초)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    public WebSocketGroupChatSink(WebSocketSession session, ObjectMapper objectMapper, long writeTimeoutMillis) {
+        this.session = session;
+        this.objectMapper = objectMapper;
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session wsSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (wsSession != null) {
+                wsSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, Long.valueOf(writeTimeoutMillis));
+            }
+        }
+    }
+
+    @Override
+    public void send(List<GroupChatEvent> events) throws IOException {
+        if (!session.isOpen()) {
+            throw new IOException("WebSocket 연결이 닫혀 있습니다.");
+        }
+        for (GroupChatEvent event : events) {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("type", event.type());
+            if (event.id() != null) {
+                frame.put("id", event.id());
+            }
+            if (event.data() != null) {
+                frame.put("data", event.data());
+            }
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("WebSocket 연결 종료 실패: sessionId={}, {}", session.getId(), e.getMessage());
+        }
+    }
+}
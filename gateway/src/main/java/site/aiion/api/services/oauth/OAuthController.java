@@ -55,14 +55,14 @@ public class OAuthController {
             
             String token = authorization.substring(7); // "Bearer " 제거
             
-            // 토큰 유효성 검증
-            if (!jwtTokenProvider.validateToken(token)) {
+            // 토큰 유효성 검증 + 사용자 ID와 provider 추출 (서명 검증 한 번)
+            var parsed = jwtTokenProvider.parseToken(token);
+            if (parsed.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(createErrorResponse("유효하지 않은 토큰입니다."));
             }
             
-            // 토큰에서 사용자 ID와 provider 추출
-            var claims = jwtTokenProvider.getAllClaimsFromToken(token);
+            var claims = parsed.get();
             String userId = claims.getSubject();
             String tokenProvider = provider != null ? provider : claims.get("provider", String.class);
             
@@ -1,17 +1,19 @@
 package site.aiion.api.services.oauth.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
     
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Value("${token-store.serialization:JSON}") TokenValueRedisSerializer.Mode serialization) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
@@ -19,9 +21,12 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // Value는 JSON으로 직렬화
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value는 JSON(기존 형식, 기본값) 또는 COMPACT(문자열은 UTF-8 그대로, 그 외 Smile)로 직렬화
+        // 읽기는 두 형식 모두 지원 (모드 전환 시 기존 키도 그대로 읽힘)
+        // 이전 버전 인스턴스는 JSON만 읽으므로 COMPACT는 모든 인스턴스가 교체된 뒤에 켬
+        TokenValueRedisSerializer valueSerializer = new TokenValueRedisSerializer(serialization);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
         
         template.afterPropertiesSet();
         return template;
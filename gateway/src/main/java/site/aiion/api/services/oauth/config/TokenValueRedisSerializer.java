@@ -0,0 +1,123 @@
+package site.aiion.api.services.oauth.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 토큰 저장소 Redis 값 직렬화
+ *
+ * COMPACT: 문자열(토큰, state)은 UTF-8 바이트 그대로, 그 외 값은 Smile(바이너리 JSON) + 타입 정보
+ * JSON: 기존 GenericJackson2JsonRedisSerializer 형식 (따옴표로 감싼 JSON 문자열, @class 메타데이터)
+ *
+ * 읽기는 모드와 관계없이 두 형식을 모두 지원하므로, 모드를 바꿔도 기존 키는 TTL 동안 그대로 읽힙니다.
+ * 이 클래스가 없는 이전 버전은 JSON만 읽으므로 기본값은 JSON이며, COMPACT는 순차 배포가 끝난 뒤에 켭니다.
+ * 형식 구분: 빈 값 → null, Smile 헤더(":)\n") → Smile,
+ * 첫 바이트가 '"', '{', '[' 이거나 전체가 JSON 스칼라(숫자, true, false, null) → 기존 JSON, 그 외 → UTF-8 문자열
+ * (COMPACT 모드는 이렇게 해석될 수 있는 문자열과 빈 문자열을 Smile로 저장하므로 구분이 모호하지 않음)
+ */
+public class TokenValueRedisSerializer implements RedisSerializer<Object> {
+
+    public enum Mode {
+        COMPACT, JSON
+    }
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+    private static final Pattern JSON_NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+
+    private final Mode mode;
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+    private final ObjectMapper smileMapper;
+
+    public TokenValueRedisSerializer(Mode mode) {
+        this.mode = mode;
+        this.smileMapper = new ObjectMapper(new SmileFactory());
+        // 구조화된 값도 원래 타입으로 복원 (GenericJackson2JsonRedisSerializer와 같은 방식)
+        this.smileMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (mode == Mode.JSON) {
+            return jsonSerializer.serialize(value);
+        }
+        if (value == null) {
+            // 기존 JSON 형식과 같이 빈 값 = null (빈 문자열은 Smile로 저장)
+            return new byte[0];
+        }
+        if (value instanceof String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (!isAmbiguous(bytes)) {
+                return bytes;
+            }
+        }
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Smile 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (startsWithSmileHeader(bytes)) {
+            try {
+                return smileMapper.readValue(bytes, Object.class);
+            } catch (IOException e) {
+                throw new SerializationException("Smile 역직렬화 실패: " + e.getMessage(), e);
+            }
+        }
+        if (isLegacyJson(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * UTF-8 그대로 저장하면 다른 형식(빈 값, 기존 JSON, Smile)으로 읽히는 문자열인지
+     */
+    private static boolean isAmbiguous(byte[] bytes) {
+        return bytes.length == 0 || isLegacyJson(bytes) || startsWithSmileHeader(bytes);
+    }
+
+    private static boolean isLegacyJson(byte[] bytes) {
+        byte first = bytes[0];
+        if (first == '"' || first == '{' || first == '[') {
+            return true;
+        }
+        // JSON 스칼라 (GenericJackson2JsonRedisSerializer는 Integer, Double, Boolean을 타입 정보 없이 저장)
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            return JSON_NUMBER.matcher(new String(bytes, StandardCharsets.US_ASCII)).matches();
+        }
+        if (bytes.length <= 5 && (first == 't' || first == 'f' || first == 'n')) {
+            String text = new String(bytes, StandardCharsets.US_ASCII);
+            return text.equals("true") || text.equals("false") || text.equals("null");
+        }
+        return false;
+    }
+
+    private static boolean startsWithSmileHeader(byte[] bytes) {
+        return bytes.length >= SMILE_HEADER.length
+                && bytes[0] == SMILE_HEADER[0] && bytes[1] == SMILE_HEADER[1] && bytes[2] == SMILE_HEADER[2];
+    }
+}
@@ -367,8 +367,7 @@ public class GoogleController {
         String userId = "mock_google_user_id"; // 실제로는 구글 API에서 받아온 사용자 ID
         
         // Redis에 토큰 저장 (Access Token: 1시간, Refresh Token: 30일)
-        tokenService.saveAccessToken("google", userId, accessToken, 3600);
-        tokenService.saveRefreshToken("google", userId, refreshToken, 2592000);
+        tokenService.saveTokens("google", userId, accessToken, 3600, refreshToken, 2592000);
         
         response.put("success", true);
         response.put("message", "구글 토큰이 성공적으로 처리되었습니다.");
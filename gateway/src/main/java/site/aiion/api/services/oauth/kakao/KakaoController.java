@@ -403,13 +403,8 @@ public class KakaoController {
             
             // 6. Redis에 토큰 저장 (Access Token: 1시간, Refresh Token: 30일)
             System.out.println("Redis에 토큰 저장 중...");
-            tokenService.saveAccessToken("kakao", userId, jwtAccessToken, 3600);
-            tokenService.saveRefreshToken("kakao", userId, jwtRefreshToken, 2592000);
-            
-            // Redis 저장 확인
-            String savedAccessToken = tokenService.getAccessToken("kakao", userId);
-            String savedRefreshToken = tokenService.getRefreshToken("kakao", userId);
-            if (savedAccessToken != null && savedRefreshToken != null) {
+            // 한 번의 왕복으로 저장하고 결과로 저장 여부 확인 (다시 조회하지 않음)
+            if (tokenService.saveTokens("kakao", userId, jwtAccessToken, 3600, jwtRefreshToken, 2592000)) {
                 System.out.println("✅ Redis에 토큰 저장 성공!");
                 System.out.println("  - Access Token Key: token:kakao:" + userId + ":access");
                 System.out.println("  - Refresh Token Key: token:kakao:" + userId + ":refresh");
@@ -374,8 +374,7 @@ public class NaverController {
         String userId = "mock_naver_user_id"; // 실제로는 네이버 API에서 받아온 사용자 ID
         
         // Redis에 토큰 저장 (Access Token: 1시간, Refresh Token: 30일)
-        tokenService.saveAccessToken("naver", userId, accessToken, 3600);
-        tokenService.saveRefreshToken("naver", userId, refreshToken, 2592000);
+        tokenService.saveTokens("naver", userId, accessToken, 3600, refreshToken, 2592000);
         
         response.put("success", true);
         response.put("message", "네이버 토큰이 성공적으로 처리되었습니다.");
@@ -1,13 +1,49 @@
 package site.aiion.api.services.oauth.token;
 
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * OAuth 토큰 / Authorization Code Redis 저장소
+ *
+ * 여러 키를 다루는 작업은 한 번의 왕복으로 처리합니다.
+ * - 토큰 저장: 파이프라인 (access + refresh)
+ * - 토큰 삭제: 다중 키 DEL
+ * - Authorization Code 검증: GET + DEL Lua 스크립트 (원자적, 같은 code를 두 번 사용할 수 없음)
+ */
 @Service
 public class TokenService {
     
+    private static final String TOKEN_PREFIX = "token:";
+    private static final String CODE_PREFIX = "code:";
+    private static final String ACCESS_SUFFIX = ":access";
+    private static final String REFRESH_SUFFIX = ":refresh";
+    
+    // 지원하는 provider의 키 접두사는 미리 계산 (요청마다 String.format 하지 않음)
+    private static final Map<String, String> TOKEN_PREFIXES = Map.of(
+            "kakao", TOKEN_PREFIX + "kakao:",
+            "naver", TOKEN_PREFIX + "naver:",
+            "google", TOKEN_PREFIX + "google:");
+    private static final Map<String, String> CODE_PREFIXES = Map.of(
+            "kakao", CODE_PREFIX + "kakao:",
+            "naver", CODE_PREFIX + "naver:",
+            "google", CODE_PREFIX + "google:");
+    
+    // GET 후 키가 있으면 DEL (Redis 버전과 무관하게 GETDEL과 같은 동작, 스크립트 실행 중에는 다른 명령이 끼어들지 않음)
+    private static final RedisScript<Object> GET_AND_DELETE = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) "
+                    + "if value then redis.call('DEL', KEYS[1]) end "
+                    + "return value",
+            Object.class);
+    
     private final RedisTemplate<String, Object> redisTemplate;
     
     public TokenService(RedisTemplate<String, Object> redisTemplate) {
@@ -22,7 +58,7 @@ public class TokenService {
      * @param expireTime 만료 시간 (초)
      */
     public void saveAccessToken(String provider, String userId, String accessToken, long expireTime) {
-        String key = String.format("token:%s:%s:access", provider, userId);
+        String key = accessKey(provider, userId);
         redisTemplate.opsForValue().set(key, accessToken, expireTime, TimeUnit.SECONDS);
         System.out.println("Redis 저장 - Key: " + key + ", TTL: " + expireTime + "초");
     }
@@ -37,11 +73,40 @@ public class TokenService {
      */
     @Deprecated
     public void saveRefreshToken(String provider, String userId, String refreshToken, long expireTime) {
-        String key = String.format("token:%s:%s:refresh", provider, userId);
+        String key = refreshKey(provider, userId);
         redisTemplate.opsForValue().set(key, refreshToken, expireTime, TimeUnit.SECONDS);
         System.out.println("Redis 저장 - Key: " + key + ", TTL: " + expireTime + "초");
     }
     
+    /**
+     * Access Token + Refresh Token 저장 (파이프라인, 한 번의 왕복)
+     * @param provider 소셜 로그인 제공자 (kakao, naver, google)
+     * @param userId 사용자 ID
+     * @param accessToken Access Token
+     * @param accessExpireTime Access Token 만료 시간 (초)
+     * @param refreshToken Refresh Token
+     * @param refreshExpireTime Refresh Token 만료 시간 (초)
+     * @return 두 토큰 모두 저장되었는지 여부
+     */
+    public boolean saveTokens(String provider, String userId, String accessToken, long accessExpireTime,
+            String refreshToken, long refreshExpireTime) {
+        String accessKey = accessKey(provider, userId);
+        String refreshKey = refreshKey(provider, userId);
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().set(accessKey, accessToken, accessExpireTime, TimeUnit.SECONDS);
+                ops.opsForValue().set(refreshKey, refreshToken, refreshExpireTime, TimeUnit.SECONDS);
+                return null;
+            }
+        });
+        System.out.println("Redis 저장 - Keys: " + accessKey + ", " + refreshKey
+                + ", TTL: " + accessExpireTime + "초 / " + refreshExpireTime + "초");
+        return results.size() == 2 && results.stream().allMatch(Boolean.TRUE::equals);
+    }
+    
     /**
      * Access Token 조회
      * @param provider 소셜 로그인 제공자
@@ -49,8 +114,7 @@ public class TokenService {
      * @return Access Token
      */
     public String getAccessToken(String provider, String userId) {
-        String key = String.format("token:%s:%s:access", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
+        Object token = redisTemplate.opsForValue().get(accessKey(provider, userId));
         return token != null ? token.toString() : null;
     }
     
@@ -63,32 +127,28 @@ public class TokenService {
      */
     @Deprecated
     public String getRefreshToken(String provider, String userId) {
-        String key = String.format("token:%s:%s:refresh", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
+        Object token = redisTemplate.opsForValue().get(refreshKey(provider, userId));
         return token != null ? token.toString() : null;
     }
     
     /**
      * 토큰 삭제 (Access Token만 삭제, Refresh Token은 User 테이블에서 관리)
+     * 두 키를 한 번의 DEL 명령으로 삭제
      * @param provider 소셜 로그인 제공자
      * @param userId 사용자 ID
      */
     public void deleteTokens(String provider, String userId) {
-        String accessKey = String.format("token:%s:%s:access", provider, userId);
-        String refreshKey = String.format("token:%s:%s:refresh", provider, userId);
+        String accessKey = accessKey(provider, userId);
+        // Refresh Token은 이제 User 테이블에서 관리하지만, 혹시 남아있는 키가 있다면 함께 삭제
+        String refreshKey = refreshKey(provider, userId);
         
         System.out.println("[TokenService] 토큰 삭제 시작 - provider: " + provider + ", userId: " + userId);
         System.out.println("[TokenService] Access Token Key: " + accessKey);
         
-        Boolean accessDeleted = redisTemplate.delete(accessKey);
+        Long deleted = redisTemplate.delete(List.of(accessKey, refreshKey));
         
-        // Refresh Token은 이제 User 테이블에서 관리하지만, 혹시 남아있는 키가 있다면 삭제
-        Boolean refreshDeleted = redisTemplate.delete(refreshKey);
-        
-        System.out.println("[TokenService] Access Token 삭제 결과: " + (accessDeleted ? "성공" : "실패 (키가 없거나 이미 삭제됨)"));
-        if (refreshDeleted) {
-            System.out.println("[TokenService] (정리) 이전 Refresh Token 키 삭제됨");
-        }
+        System.out.println("[TokenService] 삭제된 키 수: " + (deleted != null ? deleted : 0)
+                + (deleted == null || deleted == 0 ? " (키가 없거나 이미 삭제됨)" : ""));
         System.out.println("[TokenService] 토큰 삭제 완료");
     }
     
@@ -99,24 +159,36 @@ public class TokenService {
      * @param expireTime 만료 시간 (초, 기본 10분)
      */
     public void saveAuthorizationCode(String provider, String code, String state, long expireTime) {
-        String key = String.format("code:%s:%s", provider, code);
+        String key = codeKey(provider, code);
         redisTemplate.opsForValue().set(key, state != null ? state : "", expireTime, TimeUnit.SECONDS);
     }
     
     /**
-     * Authorization Code 검증 및 삭제
+     * Authorization Code 검증 및 삭제 (원자적, 동시에 들어온 콜백 중 하나만 성공)
      * @param provider 소셜 로그인 제공자
      * @param code Authorization Code
      * @return state 값 (있으면 반환, 없으면 null)
      */
     public String verifyAndDeleteAuthorizationCode(String provider, String code) {
-        String key = String.format("code:%s:%s", provider, code);
-        Object state = redisTemplate.opsForValue().get(key);
-        if (state != null) {
-            redisTemplate.delete(key);
-            return state.toString();
-        }
-        return null;
+        Object state = redisTemplate.execute(GET_AND_DELETE, List.of(codeKey(provider, code)));
+        return state != null ? state.toString() : null;
+    }
+    
+    private static String accessKey(String provider, String userId) {
+        return tokenPrefix(provider) + userId + ACCESS_SUFFIX;
+    }
+    
+    private static String refreshKey(String provider, String userId) {
+        return tokenPrefix(provider) + userId + REFRESH_SUFFIX;
+    }
+    
+    private static String codeKey(String provider, String code) {
+        String prefix = CODE_PREFIXES.get(provider);
+        return (prefix != null ? prefix : CODE_PREFIX + provider + ":") + code;
+    }
+    
+    private static String tokenPrefix(String provider) {
+        String prefix = TOKEN_PREFIXES.get(provider);
+        return prefix != null ? prefix : TOKEN_PREFIX + provider + ":";
     }
 }
-
@@ -1,24 +1,27 @@
 package site.aiion.api.services.oauth.util;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import site.aiion.api.gateway.security.JwtSigningKeys;
+import site.aiion.api.gateway.security.JwtTokenVerifier;
+
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT 토큰 생성 및 검증 서비스
+ * 서명은 JwtSigningKeys(HS256 또는 ES256/EdDSA + kid), 검증(클레임 캐시)은 JwtTokenVerifier를 공유합니다.
  */
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtSigningKeys jwtSigningKeys;
+    private final JwtTokenVerifier jwtTokenVerifier;
     
     @Value("${jwt.access-token-expiration:3600000}") // 기본 1시간
     private long accessTokenExpiration;
@@ -26,14 +29,6 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration:2592000000}") // 기본 30일
     private long refreshTokenExpiration;
     
-    /**
-     * SecretKey 생성
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
     /**
      * Access Token 생성
      * @param userId 사용자 ID
@@ -45,14 +40,13 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
         
-        return Jwts.builder()
+        return jwtSigningKeys.builder()
                 .subject(userId)
                 .claim("provider", provider)
                 .claim("type", "access")
                 .claims(additionalClaims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
                 .compact();
     }
     
@@ -66,13 +60,12 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
         
-        return Jwts.builder()
+        return jwtSigningKeys.builder()
                 .subject(userId)
                 .claim("provider", provider)
                 .claim("type", "refresh")
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
                 .compact();
     }
     
@@ -82,13 +75,7 @@ public class JwtTokenProvider {
      * @return 사용자 ID
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+        return jwtTokenVerifier.parse(token).getSubject();
     }
     
     /**
@@ -97,13 +84,7 @@ public class JwtTokenProvider {
      * @return OAuth2 제공자 (kakao, naver, google)
      */
     public String getProviderFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("provider", String.class);
+        return jwtTokenVerifier.parse(token).get("provider", String.class);
     }
     
     /**
@@ -112,11 +93,16 @@ public class JwtTokenProvider {
      * @return 클레임 정보
      */
     public Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtTokenVerifier.parse(token);
+    }
+    
+    /**
+     * JWT 토큰 검증 + 클레임 추출 (유효하지 않으면 empty)
+     * @param token JWT 토큰
+     * @return 클레임 정보
+     */
+    public Optional<Claims> parseToken(String token) {
+        return jwtTokenVerifier.tryParse(token);
     }
     
     /**
@@ -125,16 +111,7 @@ public class JwtTokenProvider {
      * @return 유효 여부
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
-            return false;
-        }
+        return jwtTokenVerifier.tryParse(token).isPresent();
     }
     
     /**
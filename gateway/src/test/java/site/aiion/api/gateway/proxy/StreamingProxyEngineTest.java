@@ -0,0 +1,225 @@
+package site.aiion.api.gateway.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import site.aiion.api.gateway.resilience.DownstreamGuard;
+import site.aiion.api.gateway.resilience.DownstreamLimiter;
+
+/**
+ * StreamingProxyEngine SSE 중계 - 로컬 text/event-stream 스텁 업스트림 대상 테스트
+ */
+class StreamingProxyEngineTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private HttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private StreamingProxyEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment();
+        meterRegistry = new SimpleMeterRegistry();
+        DownstreamLimiter downstreamLimiter = new DownstreamLimiter(environment, meterRegistry);
+        ReflectionTestUtils.setField(downstreamLimiter, "defaultMaxConcurrent", 4);
+        ReflectionTestUtils.setField(downstreamLimiter, "acquireTimeoutMillis", 2000L);
+        DownstreamGuard downstreamGuard = new DownstreamGuard(downstreamLimiter, environment, meterRegistry);
+
+        httpClient = HttpClient.newHttpClient();
+        engine = new StreamingProxyEngine(httpClient, downstreamGuard);
+        ReflectionTestUtils.setField(engine, "responseTimeoutSeconds", 10L);
+        ReflectionTestUtils.setField(engine, "bufferSize", 8192);
+        ReflectionTestUtils.setField(engine, "maxRequestSize", DataSize.ofMegabytes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        httpClient.close();
+    }
+
+    @Test
+    void 이벤트가_도착하는_대로_하나씩_flush한다() throws Exception {
+        CountDownLatch sendSecond = new CountDownLatch(1);
+        server.createContext("/stream", exchange -> {
+            OutputStream body = startEventStream(exchange);
+            writeEvent(body, "data: one\n\n");
+            // 첫 이벤트가 클라이언트에 도착한 뒤에 두 번째 이벤트 전송 (업스트림 응답은 아직 진행 중)
+            awaitQuietly(sendSecond);
+            writeEvent(body, "data: two\r\n\r\n");
+            exchange.close();
+        });
+
+        ResponseEntity<StreamingResponseBody> response = forward();
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM);
+        assertThat(response.getHeaders().getFirst("X-Accel-Buffering")).isEqualTo("no");
+
+        RecordingOutputStream client = new RecordingOutputStream(Integer.MAX_VALUE);
+        CompletableFuture<Void> relay = relay(response, client);
+
+        assertThat(client.flushed.poll(5, TimeUnit.SECONDS)).isEqualTo("data: one\n\n");
+        assertThat(relay).isNotDone();
+
+        sendSecond.countDown();
+        assertThat(client.flushed.poll(5, TimeUnit.SECONDS)).isEqualTo("data: two\r\n\r\n");
+        relay.get(5, TimeUnit.SECONDS);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void 클라이언트가_연결을_끊으면_업스트림_응답을_닫는다() throws Exception {
+        CountDownLatch upstreamClosed = new CountDownLatch(1);
+        server.createContext("/stream", exchange -> {
+            OutputStream body = startEventStream(exchange);
+            try {
+                // 연결이 끊길 때까지 계속 생성 (최대 10초)
+                for (int i = 0; i < 200; i++) {
+                    writeEvent(body, "data: token-" + i + "\n\n");
+                    Thread.sleep(50);
+                }
+            } catch (IOException e) {
+                upstreamClosed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+
+        ResponseEntity<StreamingResponseBody> response = forward();
+        // 첫 이벤트 전달 후 클라이언트 연결 종료
+        RecordingOutputStream client = new RecordingOutputStream(1);
+        CompletableFuture<Void> relay = relay(response, client);
+
+        assertThat(client.flushed.poll(5, TimeUnit.SECONDS)).isEqualTo("data: token-0\n\n");
+        assertThatThrownBy(() -> relay.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        assertThat(upstreamClosed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(inFlight()).isZero();
+    }
+
+    private ResponseEntity<StreamingResponseBody> forward() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stream");
+        request.addHeader("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+        return engine.forward("test", URI.create(baseUrl + "/stream"), HttpMethod.GET, request);
+    }
+
+    /**
+     * 서블릿 컨테이너처럼 별도 스레드에서 응답 본문 전송
+     */
+    private CompletableFuture<Void> relay(ResponseEntity<StreamingResponseBody> response, OutputStream out) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread.ofPlatform().daemon().start(() -> {
+            try {
+                response.getBody().writeTo(out);
+                done.complete(null);
+            } catch (Exception e) {
+                done.completeExceptionally(e);
+            }
+        });
+        return done;
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gateway.downstream.in-flight").tag("downstream", "test").gauge().value();
+    }
+
+    private static OutputStream startEventStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE);
+        // 길이 0 = chunked 전송
+        exchange.sendResponseHeaders(200, 0);
+        return exchange.getResponseBody();
+    }
+
+    private static void writeEvent(OutputStream body, String event) throws IOException {
+        body.write(event.getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 클라이언트 응답 스트림 - flush 단위로 기록, maxFlushes 번 flush 이후에는 연결 종료처럼 쓰기 실패
+     */
+    private static class RecordingOutputStream extends OutputStream {
+        private final BlockingQueue<String> flushed = new LinkedBlockingQueue<>();
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private final int maxFlushes;
+        private int flushes;
+
+        RecordingOutputStream(int maxFlushes) {
+            this.maxFlushes = maxFlushes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (flushes >= maxFlushes) {
+                throw new IOException("Broken pipe");
+            }
+            pending.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (pending.size() == 0) {
+                return;
+            }
+            if (flushes >= maxFlushes) {
+                throw new IOException("Broken pipe");
+            }
+            flushed.add(pending.toString(StandardCharsets.UTF_8));
+            pending.reset();
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package site.aiion.api.services.diary.inference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import site.aiion.api.gateway.resilience.DownstreamGuard;
+import site.aiion.api.gateway.resilience.DownstreamLimiter;
+
+/**
+ * BatchingInferenceClient - 로컬 스텁 모델 서버 대상 테스트
+ */
+class BatchingInferenceClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer server;
+    private String baseUrl;
+    private DownstreamGuard downstreamGuard;
+    private BatchingInferenceClient client;
+
+    // 스텁 서버가 받은 요청 (배치 크기, 단건 요청 수)
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("gateway.downstream.diary-inference.max-concurrent", "4");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamLimiter downstreamLimiter = new DownstreamLimiter(environment, meterRegistry);
+        ReflectionTestUtils.setField(downstreamLimiter, "defaultMaxConcurrent", 64);
+        ReflectionTestUtils.setField(downstreamLimiter, "acquireTimeoutMillis", 2000L);
+        downstreamGuard = new DownstreamGuard(downstreamLimiter, environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void 동시에_들어온_요청을_한_번의_배치로_보내고_입력_순서대로_완료한다() throws Exception {
+        server.createContext("/predict/batch", exchange -> {
+            List<String> texts = readTexts(exchange);
+            batchSizes.add(texts.size());
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String text : texts) {
+                results.add(Map.of("echo", text));
+            }
+            respond(exchange, 200, Map.of("results", results));
+        });
+        server.createContext("/predict", exchange -> {
+            singleCalls.incrementAndGet();
+            respond(exchange, 500, Map.of());
+        });
+        client = newClient(true, 200, 100);
+
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.submit("text-" + i));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).containsEntry("echo", "text-" + i);
+        }
+        assertThat(batchSizes).containsExactly(5);
+        assertThat(singleCalls).hasValue(0);
+    }
+
+    @Test
+    void 배치_엔드포인트가_404면_단건_요청으로_전환한다() throws Exception {
+        AtomicInteger batchCalls = new AtomicInteger();
+        server.createContext("/predict/batch", exchange -> {
+            batchCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 404, Map.of("detail", "Not Found"));
+        });
+        server.createContext("/predict", exchange -> {
+            singleCalls.incrementAndGet();
+            Map<?, ?> body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            respond(exchange, 200, Map.of("echo", body.get("text")));
+        });
+        client = newClient(true, 200, 100);
+
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(client.submit("text-" + i));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).containsEntry("echo", "text-" + i);
+        }
+
+        // 전환 이후에는 배치 엔드포인트를 다시 호출하지 않음
+        CompletableFuture<Map<String, Object>> first = client.submit("after-1");
+        CompletableFuture<Map<String, Object>> second = client.submit("after-2");
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("echo", "after-1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("echo", "after-2");
+        assertThat(batchCalls).hasValue(1);
+        assertThat(singleCalls).hasValue(5);
+    }
+
+    @Test
+    void 전송_슬롯이_모두_사용_중이면_대기열이_차고_초과_요청은_즉시_실패한다() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/predict", exchange -> {
+            Map<?, ?> body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, Map.of("echo", body.get("text")));
+        });
+        // 전송 슬롯 2개, 대기열 2개
+        client = newClient(true, 10, 2);
+
+        // 모델 서버가 응답하지 않는 동안 두 배치가 전송 슬롯을 모두 점유
+        CompletableFuture<Map<String, Object>> first = client.submit("first");
+        Thread.sleep(200);
+        CompletableFuture<Map<String, Object>> second = client.submit("second");
+        Thread.sleep(200);
+
+        CompletableFuture<Map<String, Object>> queued1 = client.submit("queued-1");
+        CompletableFuture<Map<String, Object>> queued2 = client.submit("queued-2");
+        Thread.sleep(200);
+        assertThat(client.getPendingCount()).isEqualTo(2);
+
+        CompletableFuture<Map<String, Object>> rejected = client.submit("rejected");
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RestClientException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("echo", "first");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("echo", "second");
+        assertThat(queued1.get(5, TimeUnit.SECONDS)).containsEntry("echo", "queued-1");
+        assertThat(queued2.get(5, TimeUnit.SECONDS)).containsEntry("echo", "queued-2");
+    }
+
+    @Test
+    void 종료하면_모으던_요청과_이후_요청이_즉시_실패한다() throws Exception {
+        // 배치를 오래 모으는 동안 종료
+        client = newClient(true, 10_000, 100);
+        CompletableFuture<Map<String, Object>> collecting = client.submit("text");
+        Thread.sleep(100);
+
+        client.shutdown();
+
+        assertThatThrownBy(() -> collecting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RestClientException.class);
+        assertThat(client.submit("late")).isCompletedExceptionally();
+        assertThat(client.getPendingCount()).isZero();
+    }
+
+    private BatchingInferenceClient newClient(boolean batchEnabled, long maxWaitMillis, int queueCapacity) {
+        return new BatchingInferenceClient("test", new RestTemplate(), downstreamGuard, baseUrl + "/predict",
+                batchEnabled, 16, maxWaitMillis, 2, queueCapacity, Thread.ofPlatform().daemon().factory());
+    }
+
+    private List<String> readTexts(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+        List<String> texts = new ArrayList<>();
+        for (Object text : (List<?>) body.get("texts")) {
+            texts.add((String) text);
+        }
+        return texts;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,246 @@
+package site.aiion.api.services.groupchat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Redis 백플레인으로 연결된 브로드캐스터 두 개 (게이트웨이 인스턴스 두 개) 통합 테스트
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisGroupChatBackplaneTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private LettuceConnectionFactory connectionFactory;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // 테스트마다 다른 채널 사용 (이전 테스트의 메시지와 섞이지 않도록)
+        String channel = "groupchat:test:" + UUID.randomUUID();
+        nodeA = new Node(channel);
+        nodeB = new Node(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.close();
+        nodeB.close();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void 다른_인스턴스의_메시지가_ID_순서와_다르게_도착해도_전달한다() {
+        RecordingSink clientA = nodeA.connect(0);
+        RecordingSink clientB = nodeB.connect(0);
+        warmUp(clientB);
+
+        // B에서 저장된 11번이 먼저 전달되고, A에서 저장된 10번이 Redis를 거쳐 늦게 도착
+        nodeB.backplane.publish(message(11));
+        nodeA.backplane.publish(message(10));
+
+        await(() -> clientA.ids().size() == 3 && clientB.ids().size() == 3);
+        // A에서는 11번의 Redis 도착 시점에 따라 순서가 달라질 수 있음
+        assertThat(clientA.ids()).containsExactlyInAnyOrder(1L, 10L, 11L);
+        assertThat(clientB.ids()).containsExactly(1L, 11L, 10L);
+    }
+
+    @Test
+    void 같은_메시지는_한_번만_전달한다() {
+        RecordingSink clientB = nodeB.connect(0);
+        warmUp(clientB);
+
+        nodeA.backplane.publish(message(5));
+        nodeB.broadcaster.publish(message(5));
+        nodeA.backplane.publish(message(6));
+
+        await(() -> clientB.ids().contains(6L));
+        assertThat(clientB.ids()).containsExactly(1L, 5L, 6L);
+    }
+
+    @Test
+    void 링_버퍼_비우기가_다른_인스턴스로_전파된다() {
+        RecordingSink clientB = nodeB.connect(0);
+        warmUp(clientB);
+        nodeA.backplane.publish(message(2));
+        nodeA.backplane.publish(message(3));
+        await(() -> clientB.ids().contains(3L));
+
+        nodeA.backplane.clearRecentMessages();
+        // 같은 채널에서 비우기 이후에 발행된 메시지가 도착했으면 비우기도 처리된 상태
+        nodeA.backplane.publish(message(4));
+        await(() -> clientB.ids().contains(4L));
+
+        RecordingSink reconnected = nodeB.connect(0);
+        await(() -> !reconnected.ids().isEmpty());
+        assertThat(reconnected.ids()).containsExactly(4L);
+    }
+
+    @Test
+    void 구독이_다시_연결되면_놓친_메시지를_DB에서_적재해_전달한다() {
+        RecordingSink clientB = nodeB.connect(0);
+        warmUp(clientB);
+
+        // 구독이 끊긴 동안 A에서 저장된 7번 (B는 Redis로 받지 못함)
+        when(nodeB.repository.findByOrderByIdDesc(any())).thenReturn(List.of(entity(7), entity(1)));
+        nodeB.backplane.onChannelSubscribed(nodeB.channel.getBytes(StandardCharsets.UTF_8), 1);
+
+        await(() -> clientB.ids().contains(7L));
+        assertThat(clientB.ids()).containsExactly(1L, 7L);
+        // 1번 이후로 재연결하면 링 버퍼에서 7번 재전송
+        RecordingSink reconnected = nodeB.connect(1);
+        await(() -> !reconnected.ids().isEmpty());
+        assertThat(reconnected.ids()).containsExactly(7L);
+    }
+
+    /**
+     * 구독이 연결될 때까지 1번 메시지를 A에서 발행
+     */
+    private void warmUp(RecordingSink clientB) {
+        await(() -> {
+            nodeA.backplane.publish(message(1));
+            return clientB.ids().contains(1L);
+        });
+    }
+
+    private static GroupChatModel message(long id) {
+        return GroupChatModel.builder()
+                .id(id)
+                .userId(1L)
+                .username("user")
+                .message("message-" + id)
+                .build();
+    }
+
+    private static GroupChat entity(long id) {
+        return GroupChat.builder()
+                .id(id)
+                .userId(1L)
+                .username("user")
+                .message("message-" + id)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("10초 안에 조건을 만족하지 않았습니다");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /**
+     * 게이트웨이 인스턴스 하나 (브로드캐스터 + Redis 백플레인)
+     */
+    private class Node {
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final ExecutorService writer = Executors.newFixedThreadPool(2);
+        private final ExecutorService closer = Executors.newCachedThreadPool();
+        private final GroupChatRepository repository = mock(GroupChatRepository.class);
+        private final String channel;
+        private final GroupChatBroadcaster broadcaster;
+        private final RedisGroupChatBackplane backplane;
+
+        Node(String channel) {
+            this.channel = channel;
+            broadcaster = new GroupChatBroadcaster(repository, scheduler, writer, closer,
+                    new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(broadcaster, "bufferSize", 200);
+            ReflectionTestUtils.setField(broadcaster, "heartbeatSeconds", 15L);
+            ReflectionTestUtils.setField(broadcaster, "initialMessages", 50);
+            ReflectionTestUtils.setField(broadcaster, "maxReplay", 500);
+            ReflectionTestUtils.setField(broadcaster, "maxQueue", 256);
+            ReflectionTestUtils.setField(broadcaster, "maxLagMillis", 30_000L);
+            ReflectionTestUtils.setField(broadcaster, "writeTimeoutMillis", 10_000L);
+            ReflectionTestUtils.setField(broadcaster, "reorderWindow", 64);
+            broadcaster.start();
+
+            backplane = new RedisGroupChatBackplane(broadcaster, new StringRedisTemplate(connectionFactory),
+                    connectionFactory, objectMapper);
+            ReflectionTestUtils.setField(backplane, "channel", channel);
+            backplane.subscribe();
+        }
+
+        RecordingSink connect(long lastId) {
+            RecordingSink sink = new RecordingSink();
+            broadcaster.register(UUID.randomUUID().toString(), sink, lastId);
+            return sink;
+        }
+
+        void close() throws Exception {
+            backplane.unsubscribe();
+            broadcaster.stop();
+            writer.shutdownNow();
+            closer.shutdownNow();
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 전달받은 메시지 ID를 기록하는 연결
+     */
+    private static class RecordingSink implements GroupChatSink {
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(List<GroupChatEvent> events) {
+            for (GroupChatEvent event : events) {
+                if (GroupChatEvent.MESSAGE.equals(event.type())) {
+                    ids.add(event.id());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        List<Long> ids() {
+            return List.copyOf(ids);
+        }
+    }
+}
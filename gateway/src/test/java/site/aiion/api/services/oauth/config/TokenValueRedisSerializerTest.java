@@ -0,0 +1,91 @@
+package site.aiion.api.services.oauth.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import site.aiion.api.services.oauth.config.TokenValueRedisSerializer.Mode;
+
+/**
+ * TokenValueRedisSerializer - 두 모드의 직렬화 왕복과 기존 형식 호환
+ */
+class TokenValueRedisSerializerTest {
+
+    // 다른 형식(빈 값, JSON, Smile)으로 오해될 수 있는 문자열 포함
+    private static final String[] STRINGS = {
+            "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiIxIn0.signature",
+            "state-1234",
+            "한글 값",
+            "",
+            "123",
+            "-1.5e3",
+            "0",
+            "true",
+            "false",
+            "null",
+            "trueish",
+            "\"quoted\"",
+            "{\"userId\":1}",
+            "[1,2]",
+            ":)\nsmile",
+    };
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void 문자열은_모드와_관계없이_그대로_복원된다(Mode mode) {
+        TokenValueRedisSerializer serializer = new TokenValueRedisSerializer(mode);
+        for (String value : STRINGS) {
+            assertThat(serializer.deserialize(serializer.serialize(value))).as(value).isEqualTo(value);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void null은_null로_복원된다(Mode mode) {
+        TokenValueRedisSerializer serializer = new TokenValueRedisSerializer(mode);
+        assertThat(serializer.deserialize(serializer.serialize(null))).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void 구조화된_값은_타입과_함께_복원된다(Mode mode) {
+        TokenValueRedisSerializer serializer = new TokenValueRedisSerializer(mode);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("userId", "1");
+        value.put("provider", "kakao");
+        assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void COMPACT_모드는_일반_문자열을_UTF8_그대로_저장한다() {
+        TokenValueRedisSerializer serializer = new TokenValueRedisSerializer(Mode.COMPACT);
+        assertThat(serializer.serialize("state-1234")).isEqualTo("state-1234".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void COMPACT_모드는_JSON_모드로_저장된_스칼라를_읽는다() {
+        TokenValueRedisSerializer json = new TokenValueRedisSerializer(Mode.JSON);
+        TokenValueRedisSerializer compact = new TokenValueRedisSerializer(Mode.COMPACT);
+        assertThat(compact.deserialize(json.serialize(42))).isEqualTo(42);
+        assertThat(compact.deserialize(json.serialize(true))).isEqualTo(true);
+        assertThat(compact.deserialize(json.serialize(1.5))).isEqualTo(1.5);
+        assertThat(compact.deserialize(json.serialize("token"))).isEqualTo("token");
+        assertThat(compact.deserialize("null".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void JSON_모드는_COMPACT_모드로_저장된_값을_읽는다() {
+        TokenValueRedisSerializer json = new TokenValueRedisSerializer(Mode.JSON);
+        TokenValueRedisSerializer compact = new TokenValueRedisSerializer(Mode.COMPACT);
+        for (String value : STRINGS) {
+            assertThat(json.deserialize(compact.serialize(value))).as(value).isEqualTo(value);
+        }
+    }
+}